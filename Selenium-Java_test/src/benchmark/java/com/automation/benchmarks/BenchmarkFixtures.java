@@ -0,0 +1,114 @@
+package com.automation.benchmarks;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Calendar;
+
+/**
+ * Generated data files for benchmarks. Files are written once to target/benchmark-fixtures
+ * and reused by later runs.
+ */
+public final class BenchmarkFixtures {
+    public static final String EXCEL_SHEET = "Data";
+    public static final String JSON_NODE = "searchTests";
+    
+    private static final File FIXTURE_DIR = new File("target/benchmark-fixtures");
+    
+    private BenchmarkFixtures() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Get an Excel data sheet with a mix of shared strings, numbers, booleans, dates and formulas
+     * @param rowCount Number of data rows
+     * @return Path to the .xlsx file
+     */
+    public static synchronized String excel(int rowCount) throws IOException {
+        File file = new File(FIXTURE_DIR, "excel-" + rowCount + ".xlsx");
+        if (file.exists()) {
+            return file.getPath();
+        }
+        FIXTURE_DIR.mkdirs();
+        
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, true, true);
+             FileOutputStream fos = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet(EXCEL_SHEET);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            
+            String[] headers = {"TestCase", "Keyword", "Quantity", "Price", "InStock", "Added", "Total"};
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+            
+            Calendar added = Calendar.getInstance();
+            added.set(2024, Calendar.JANUARY, 1);
+            for (int r = 1; r <= rowCount; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("TC_" + r);
+                row.createCell(1).setCellValue("keyword-" + (r % 50));
+                row.createCell(2).setCellValue(r % 10 + 1);
+                row.createCell(3).setCellValue(r * 1.25);
+                row.createCell(4).setCellValue(r % 2 == 0);
+                Cell date = row.createCell(5);
+                date.setCellValue(added.getTime());
+                date.setCellStyle(dateStyle);
+                row.createCell(6).setCellFormula("C" + (r + 1) + "*D" + (r + 1));
+            }
+            
+            workbook.write(fos);
+            workbook.dispose();
+        }
+        return file.getPath();
+    }
+    
+    /**
+     * Get a JSON data file with one large array of search test items
+     * @param itemCount Number of array items
+     * @return Path to the .json file
+     */
+    public static synchronized String json(int itemCount) throws IOException {
+        File file = new File(FIXTURE_DIR, "json-" + itemCount + ".json");
+        if (file.exists()) {
+            return file.getPath();
+        }
+        FIXTURE_DIR.mkdirs();
+        
+        try (JsonGenerator json = new JsonFactory().createGenerator(file, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("meta");
+            json.writeNumberField("items", itemCount);
+            json.writeEndObject();
+            
+            json.writeArrayFieldStart(JSON_NODE);
+            for (int i = 1; i <= itemCount; i++) {
+                json.writeStartObject();
+                json.writeStringField("testCase", "TC_" + i);
+                json.writeStringField("searchKeyword", "keyword-" + (i % 50));
+                json.writeNumberField("productIndex", i % 10 + 1);
+                json.writeStringField("expectedTitle", "Product title " + i);
+                json.writeNumberField("price", i * 1.25);
+                json.writeBooleanField("inStock", i % 2 == 0);
+                json.writeArrayFieldStart("tags");
+                json.writeString("tag-" + (i % 7));
+                json.writeString("tag-" + (i % 11));
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return file.getPath();
+    }
+}
\ No newline at end of file
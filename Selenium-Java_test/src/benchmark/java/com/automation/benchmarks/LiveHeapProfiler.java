@@ -0,0 +1,53 @@
+package com.automation.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH profiler that reports the largest live heap seen by {@link #sampleLiveHeap()} during an
+ * iteration as live.heap.max (MB). Benchmarks call sampleLiveHeap() at the point they want
+ * measured, e.g. halfway through a data provider; iterations that never sample report nothing.
+ * Enabled in the benchmark profile with -prof com.automation.benchmarks.LiveHeapProfiler.
+ */
+public class LiveHeapProfiler implements InternalProfiler {
+    private static final AtomicLong maxLiveBytes = new AtomicLong(-1);
+    
+    /**
+     * Run a full GC and record the heap still in use
+     */
+    public static void sampleLiveHeap() {
+        System.gc();
+        long used = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        maxLiveBytes.accumulateAndGet(used, Math::max);
+    }
+    
+    @Override
+    public String getDescription() {
+        return "Largest live heap sampled by the benchmark";
+    }
+    
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        maxLiveBytes.set(-1);
+    }
+    
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        long max = maxLiveBytes.get();
+        if (max < 0) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new ScalarResult("live.heap.max", max / (1024.0 * 1024.0), "MB", AggregationPolicy.MAX));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.automation.core;
+
+import com.automation.config.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cold start of a browser session: cloning the profile, launching the configured
+ * browser headless and the first load of the base URL, with an empty temporary profile
+ * (template=false) and with a clone of the profile template (template=true). The template is
+ * used whatever profile.template.enabled says and is built during warm-up. Needs the browser
+ * installed, so the default benchmark run leaves it out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProfileColdStartBenchmark {
+    @Param({"false", "true"})
+    public boolean template;
+    
+    private String browser;
+    private String url;
+    private WebDriver driver;
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        ConfigReader config = ConfigReader.getInstance();
+        browser = config.getBrowser();
+        url = config.getBaseUrl();
+        if (template && "safari".equalsIgnoreCase(browser)) {
+            throw new IllegalStateException("Safari has no profile template to compare against");
+        }
+    }
+    
+    @Benchmark
+    public void coldStart() {
+        Path profile = template ? ProfileTemplates.cloneTemplate(browser, true) : null;
+        driver = DriverManager.createDriver(browser, true, profile);
+        ProfileTemplates.attach(driver, profile);
+        driver.get(url);
+    }
+    
+    @TearDown(Level.Iteration)
+    public void quit() {
+        try {
+            driver.quit();
+        } finally {
+            ProfileTemplates.release(driver);
+        }
+    }
+}
\ No newline at end of file
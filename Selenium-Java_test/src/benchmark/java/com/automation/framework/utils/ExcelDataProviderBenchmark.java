@@ -0,0 +1,39 @@
+package com.automation.framework.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what a page or test pays for an ExcelDataProvider. construct is the cost once the
+ * shared repository is loaded; constructAndReload forces both workbooks to be read again,
+ * which is what every construction cost before the repository was shared. Reads the
+ * project's own workbooks, so run from the project directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExcelDataProviderBenchmark {
+    
+    @Benchmark
+    public String construct() {
+        return new ExcelDataProvider().getXPath("LoginPage", "usernameField");
+    }
+    
+    @Benchmark
+    public String constructAndReload() {
+        TestDataRepository.getInstance().reload();
+        return new ExcelDataProvider().getXPath("LoginPage", "usernameField");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.automation.locators;
+
+import org.openqa.selenium.By;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the candidate locator list for a field name, which happens on every
+ * uncached field lookup before the browser is asked anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorCandidatesBenchmark {
+    
+    @Param({"Email", "Search Amazon", "Proceed to checkout"})
+    private String fieldName;
+    
+    private final DynamicLocatorFactory factory = new DynamicLocatorFactory(DynamicLocatorFactory.ResolutionMode.SEQUENTIAL);
+    
+    @Benchmark
+    public List<By> createLocatorsForFieldName() {
+        return factory.createLocatorsForFieldName(fieldName);
+    }
+}
\ No newline at end of file
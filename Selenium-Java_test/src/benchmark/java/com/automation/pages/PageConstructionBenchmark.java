@@ -0,0 +1,99 @@
+package com.automation.pages;
+
+import com.automation.core.DeadlineWait;
+import com.automation.core.DriverManager;
+import com.automation.locators.DynamicLocatorFactory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what creating a page object costs, without a browser. pageFactory is the work every
+ * construction did before: PageFactory.initElements plus a new wait, Actions and locator
+ * factory. cachedElements is the work it does now, and construct is a whole page constructor.
+ * The page has the same fields as AmazonProductPage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageConstructionBenchmark {
+    private WebDriver driver;
+    private ProductPage page;
+    
+    /**
+     * Page with the element fields of AmazonProductPage and no logging
+     */
+    static class ProductPage extends BasePage {
+        @FindBy(id = "productTitle")
+        private WebElement productTitle;
+        
+        @FindBy(id = "add-to-cart-button")
+        private WebElement addToCartButton;
+        
+        @FindBy(id = "buy-now-button")
+        private WebElement buyNowButton;
+        
+        @FindBy(id = "priceblock_ourprice")
+        private WebElement productPrice;
+        
+        @FindBy(css = "span.a-size-base.a-color-success")
+        private WebElement inStockStatus;
+        
+        @FindBy(css = "a#nav-cart")
+        private WebElement cartIcon;
+        
+        @FindBy(css = "span#attach-sidesheet-checkout-button")
+        private WebElement proceedToCheckoutButton;
+        
+        @FindBy(css = "span#attach-sidesheet-view-cart-button")
+        private WebElement cartButton;
+    }
+    
+    @Setup
+    public void setUp() {
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> null);
+        DriverManager.setDriver(driver);
+        page = new ProductPage();
+    }
+    
+    @Benchmark
+    public void pageFactory(Blackhole blackhole) {
+        PageFactory.initElements(driver, page);
+        blackhole.consume(new DeadlineWait(driver, Duration.ofSeconds(10)));
+        blackhole.consume(new Actions(driver));
+        blackhole.consume(new DynamicLocatorFactory());
+    }
+    
+    @Benchmark
+    public void cachedElements(Blackhole blackhole) {
+        PageElements.initElements(driver, page);
+        blackhole.consume(PageHelpers.forDriver(driver));
+    }
+    
+    @Benchmark
+    public BasePage construct() {
+        return new ProductPage();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.automation.utils;
+
+import com.automation.benchmarks.BenchmarkFixtures;
+import com.automation.benchmarks.LiveHeapProfiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares materialized (Object[][]) and lazy (Iterator) data providers, both reading Excel
+ * through the streaming reader so only laziness differs. timeToFirstTest
+ * measures how long TestNG waits for the first row; fullSuite walks every row like a suite
+ * would and samples the live heap halfway through (reported as live.heap.max).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DataProviderBenchmark {
+    
+    @Param({"excel", "json"})
+    private String source;
+    
+    @Param({"array", "iterator"})
+    private String api;
+    
+    @Param({"1000", "50000"})
+    private int rows;
+    
+    private String filePath;
+    
+    @Setup
+    public void setUp() throws IOException {
+        filePath = "excel".equals(source) ? BenchmarkFixtures.excel(rows) : BenchmarkFixtures.json(rows);
+    }
+    
+    @Benchmark
+    public Object[] timeToFirstTest() {
+        try (LazyDataIterator provider = provider()) {
+            return provider.next();
+        }
+    }
+    
+    @Benchmark
+    public int fullSuite(Blackhole blackhole) {
+        int count = 0;
+        try (LazyDataIterator provider = provider()) {
+            while (provider.hasNext()) {
+                blackhole.consume(provider.next());
+                if (++count == rows / 2) {
+                    LiveHeapProfiler.sampleLiveHeap();
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Create the data provider the way TestNG would see it
+     * @return Data provider rows
+     */
+    private LazyDataIterator provider() {
+        boolean excel = "excel".equals(source);
+        if ("iterator".equals(api)) {
+            return excel
+                    ? ExcelUtils.iterate(filePath, BenchmarkFixtures.EXCEL_SHEET, false)
+                    : JsonUtils.iterate(filePath, BenchmarkFixtures.JSON_NODE);
+        }
+        Object[][] data = excel
+                ? ExcelUtils.readAs2DArray(filePath, BenchmarkFixtures.EXCEL_SHEET, true)
+                : JsonUtils.readAs2DArray(filePath, BenchmarkFixtures.JSON_NODE);
+        return LazyDataIterator.of(Arrays.asList(data));
+    }
+}
\ No newline at end of file
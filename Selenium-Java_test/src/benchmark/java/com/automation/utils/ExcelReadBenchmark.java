@@ -0,0 +1,54 @@
+package com.automation.utils;
+
+import com.automation.benchmarks.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the workbook (DOM) and streaming Excel readers. Run with the gc profiler (enabled by
+ * the benchmark profile) to compare allocation per read alongside time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExcelReadBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+    
+    @Param({"dom", "streaming"})
+    private String mode;
+    
+    private String filePath;
+    
+    @Setup
+    public void setUp() throws IOException {
+        filePath = BenchmarkFixtures.excel(rows);
+    }
+    
+    @Benchmark
+    public List<Map<String, String>> readListOfMaps() {
+        return ExcelUtils.readAsListOfMaps(filePath, BenchmarkFixtures.EXCEL_SHEET, "streaming".equals(mode));
+    }
+    
+    @Benchmark
+    public Object[][] read2DArray() {
+        return ExcelUtils.readAs2DArray(filePath, BenchmarkFixtures.EXCEL_SHEET, "streaming".equals(mode));
+    }
+}
\ No newline at end of file
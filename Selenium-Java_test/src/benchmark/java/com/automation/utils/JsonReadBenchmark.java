@@ -0,0 +1,46 @@
+package com.automation.utils;
+
+import com.automation.benchmarks.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a large JSON array into the list of maps that
+ * getJsonDataAsListOfMaps returns, parsing the generated fixture on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JsonReadBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+    
+    private String filePath;
+    
+    @Setup
+    public void setUp() throws IOException {
+        filePath = BenchmarkFixtures.json(rows);
+    }
+    
+    @Benchmark
+    public List<Map<String, Object>> readListOfMaps() {
+        return JsonUtils.readAsListOfMaps(filePath, BenchmarkFixtures.JSON_NODE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.automation.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ReportUtils step logging throughput with 1, 8 and 32 threads, each logging to its
+ * own test, with steps written inline or by the asynchronous writer. Each iteration starts a
+ * fresh report so that logged steps do not pile up across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportLoggingBenchmark {
+    
+    @Param({"inline", "async"})
+    private String writer;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ReportUtils.initializeExtentReport("async".equals(writer));
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        ReportUtils.reset();
+    }
+    
+    /**
+     * Test created by each benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class ThreadTest {
+        
+        @Setup(Level.Iteration)
+        public void setUp(ReportLoggingBenchmark report) {
+            ReportUtils.createTest(Thread.currentThread().getName(), "Report logging benchmark");
+        }
+        
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            ReportUtils.endTest();
+        }
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public void threads1(ThreadTest test) {
+        ReportUtils.logInfo("Step");
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public void threads8(ThreadTest test) {
+        ReportUtils.logInfo("Step");
+    }
+    
+    @Benchmark
+    @Threads(32)
+    public void threads32(ThreadTest test) {
+        ReportUtils.logInfo("Step");
+    }
+}
\ No newline at end of file
@@ -78,7 +78,8 @@ public class ConfigReader {
     }
     
     /**
-     * Get base URL from config
+     * Get base URL from config. Navigation code passes it through FixtureServer.localUrl to
+     * load it from the local fixture server when fixture.mode is record or replay.
      * @return Base URL
      */
     public String getBaseUrl() {
@@ -148,4 +149,336 @@ public class ConfigReader {
     public String getExtentReportName() {
         return getProperty("extent.report.name", "AutomationReport");
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Check if WebDriver sessions should be leased from the driver pool
+     * @return true if the driver pool is enabled
+     */
+    public boolean isDriverPoolEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.pool.enabled", "false"));
+    }
+    
+    /**
+     * Get maximum number of pooled sessions per browser type
+     * @return Driver pool size
+     */
+    public int getDriverPoolSize() {
+        return Integer.parseInt(getProperty("driver.pool.size", "2"));
+    }
+    
+    /**
+     * Get number of sessions to pre-launch per browser type
+     * @return Driver pool warm-up count
+     */
+    public int getDriverPoolWarmUpCount() {
+        return Integer.parseInt(getProperty("driver.pool.warmup", "1"));
+    }
+    
+    /**
+     * Get maximum age in seconds of a pooled session before it is retired (0 disables)
+     * @return Maximum lease age in seconds
+     */
+    public int getDriverPoolMaxLeaseAge() {
+        return Integer.parseInt(getProperty("driver.pool.max.lease.age", "1800"));
+    }
+    
+    /**
+     * Get time in seconds to wait for a pooled session to become available
+     * @return Lease timeout in seconds
+     */
+    public int getDriverPoolLeaseTimeout() {
+        return Integer.parseInt(getProperty("driver.pool.lease.timeout", "120"));
+    }
+    
+    /**
+     * Get how DynamicLocatorFactory resolves candidate locators (batched or sequential)
+     * @return Locator resolution mode
+     */
+    public String getLocatorResolutionMode() {
+        return getProperty("locator.resolution.mode", "sequential");
+    }
+    
+    /**
+     * Check if DynamicLocatorFactory should rank candidates by observed hit rate
+     * @return true if locator learning is enabled
+     */
+    public boolean isLocatorLearningEnabled() {
+        return Boolean.parseBoolean(getProperty("locator.learning.enabled", "false"));
+    }
+    
+    /**
+     * Get path of the persisted locator hit-rate store
+     * @return Locator stats file path
+     */
+    public String getLocatorStatsPath() {
+        return getProperty("locator.stats.path", "target/locator-stats.tsv");
+    }
+    
+    /**
+     * Check if resolved locators should be cached per page
+     * @return true if the locator cache is enabled
+     */
+    public boolean isLocatorCacheEnabled() {
+        return Boolean.parseBoolean(getProperty("locator.cache.enabled", "false"));
+    }
+    
+    /**
+     * Check if the locator cache should also keep live WebElements
+     * @return true if live elements are cached
+     */
+    public boolean isLocatorCacheElementsEnabled() {
+        return Boolean.parseBoolean(getProperty("locator.cache.elements", "false"));
+    }
+    
+    /**
+     * Get wait engine used by WaitUtils (polling or event)
+     * @return Wait engine name
+     */
+    public String getWaitEngine() {
+        return getProperty("wait.engine", "polling");
+    }
+    
+    /**
+     * Get how long the network must stay idle before a network idle wait returns
+     * @return Network idle window in milliseconds
+     */
+    public long getNetworkIdleMillis() {
+        return Long.parseLong(getProperty("network.idle.millis", "500"));
+    }
+    
+    /**
+     * Get reader used for Excel test data (dom or streaming)
+     * @return Excel reader mode
+     */
+    public String getExcelReaderMode() {
+        return getProperty("excel.reader.mode", "dom");
+    }
+    
+    /**
+     * Check if parsed Excel workbooks should be cached as binary snapshots
+     * @return true if Excel snapshots are enabled
+     */
+    public boolean isExcelSnapshotEnabled() {
+        return Boolean.parseBoolean(getProperty("excel.snapshot.enabled", "false"));
+    }
+    
+    /**
+     * Get directory for Excel workbook snapshots
+     * @return Excel snapshot directory
+     */
+    public String getExcelSnapshotPath() {
+        return getProperty("excel.snapshot.path", "target/excel-snapshots");
+    }
+    
+    /**
+     * Check if report steps should be written by a background thread
+     * @return true if asynchronous reporting is enabled
+     */
+    public boolean isReportAsyncEnabled() {
+        return Boolean.parseBoolean(getProperty("report.async.enabled", "false"));
+    }
+    
+    /**
+     * Get number of report steps buffered for the background writer
+     * @return Report queue capacity
+     */
+    public int getReportQueueCapacity() {
+        return Integer.parseInt(getProperty("report.queue.capacity", "4096"));
+    }
+    
+    /**
+     * Get what a test thread does when the report queue is full:
+     * block, or drop INFO and PASS steps
+     * @return Report queue backpressure policy
+     */
+    public String getReportQueueBackpressure() {
+        return getProperty("report.queue.backpressure", "block");
+    }
+    
+    /**
+     * Get file format for screenshots (jpg or png)
+     * @return Screenshot format
+     */
+    public String getScreenshotFormat() {
+        return getProperty("screenshot.format", "png");
+    }
+    
+    /**
+     * Get JPEG compression quality for screenshots
+     * @return Quality between 0 and 1
+     */
+    public float getScreenshotJpegQuality() {
+        return Float.parseFloat(getProperty("screenshot.jpeg.quality", "0.75"));
+    }
+    
+    /**
+     * Get number of threads that encode and write screenshots
+     * @return Screenshot encoder thread count
+     */
+    public int getScreenshotEncoderThreads() {
+        return Integer.parseInt(getProperty("screenshot.encoder.threads", "2"));
+    }
+    
+    /**
+     * Check if the wall time of every WebDriver command should be recorded
+     * @return true if command timing is enabled
+     */
+    public boolean isCommandTimingEnabled() {
+        return Boolean.parseBoolean(getProperty("command.timing.enabled", "false"));
+    }
+    
+    /**
+     * Get path of the JSON command timing summary written at suite end
+     * @return Command timing summary path
+     */
+    public String getCommandTimingPath() {
+        return getProperty("command.timing.path", "target/command-timings.json");
+    }
+    
+    /**
+     * Check if a Java Flight Recorder file should be recorded for each suite
+     * @return true if JFR recording is enabled
+     */
+    public boolean isJfrRecordingEnabled() {
+        return Boolean.parseBoolean(getProperty("jfr.recording.enabled", "false"));
+    }
+    
+    /**
+     * Get directory for suite JFR recordings
+     * @return JFR recording directory
+     */
+    public String getJfrRecordingPath() {
+        return getProperty("jfr.recording.path", "target/jfr");
+    }
+    
+    /**
+     * Get JFR settings used for suite recordings (default or profile)
+     * @return JFR settings name
+     */
+    public String getJfrSettings() {
+        return getProperty("jfr.settings", "default");
+    }
+    
+    /**
+     * Get fixture server mode: off (live sites), record or replay
+     * @return Fixture mode
+     */
+    public String getFixtureMode() {
+        return getProperty("fixture.mode", "off");
+    }
+    
+    /**
+     * Get directory recorded responses are written to and replayed from
+     * @return Fixture directory
+     */
+    public String getFixturePath() {
+        return getProperty("fixture.path", "src/test/resources/fixtures");
+    }
+    
+    /**
+     * Get comma-separated origins served by fixture servers from the start, in addition to
+     * the sites the tests navigate to
+     * @return Fixture origins
+     */
+    public String getFixtureOrigins() {
+        return getProperty("fixture.origins", "");
+    }
+    
+    /**
+     * Get comma-separated query parameters ignored when matching requests to fixtures
+     * @return Ignored query parameters
+     */
+    public String getFixtureIgnoredParams() {
+        return getProperty("fixture.ignored.params", "");
+    }
+    
+    /**
+     * Get request-blocking profile for browser sessions: none, media or lean
+     * @return Resource blocking profile
+     */
+    public String getResourceBlockingProfile() {
+        return getProperty("resource.blocking.profile", "none");
+    }
+    
+    /**
+     * Get comma-separated URL patterns blocked by the lean profile, such as ad and analytics domains
+     * @return Blocked URL patterns
+     */
+    public String getResourceBlockingPatterns() {
+        return getProperty("resource.blocking.patterns", "");
+    }
+    
+    /**
+     * Check if bytes transferred and load time of visited pages should be reported per test
+     * @return true if page weight is enabled
+     */
+    public boolean isPageWeightEnabled() {
+        return Boolean.parseBoolean(getProperty("page.weight.enabled", "false"));
+    }
+    
+    /**
+     * Get file the per-page baseline of unblocked runs is stored in
+     * @return Page weight baseline path
+     */
+    public String getPageWeightBaselinePath() {
+        return getProperty("page.weight.baseline.path", "target/page-weight-baseline.tsv");
+    }
+    
+    /**
+     * Get wait mode: implicit (driver-wide implicit wait) or explicit (implicit waits off,
+     * every lookup waits explicitly with its own timeout)
+     * @return Wait mode
+     */
+    public String getWaitMode() {
+        return getProperty("wait.mode", "implicit");
+    }
+    
+    /**
+     * Get wall-clock budget per test method, shared by all of its waits and locator probes
+     * @return Test time budget in seconds, 0 for no budget
+     */
+    public int getTestTimeBudgetSeconds() {
+        return Integer.parseInt(getProperty("test.time.budget.seconds", "0"));
+    }
+    
+    /**
+     * Get how long a captured login session may be restored into other drivers
+     * @return Session state time to live in minutes, 0 to always log in through the UI
+     */
+    public int getSessionStateTtlMinutes() {
+        return Integer.parseInt(getProperty("session.state.ttl.minutes", "0"));
+    }
+    
+    /**
+     * Get path of a light page on the site to open before restoring cookies, which can only be
+     * set for the current document's domain
+     * @return Session restore landing path
+     */
+    public String getSessionStateRestorePath() {
+        return getProperty("session.state.restore.path", "/favicon.ico");
+    }
+    
+    /**
+     * Check if browser sessions start on a clone of a pre-built profile template
+     * @return true if profile templates are enabled
+     */
+    public boolean isProfileTemplateEnabled() {
+        return Boolean.parseBoolean(getProperty("profile.template.enabled", "false"));
+    }
+    
+    /**
+     * Get directory holding the profile template of each browser and the session clones
+     * @return Profile template path
+     */
+    public String getProfileTemplatePath() {
+        return getProperty("profile.template.path", "target/profile-templates");
+    }
+    
+    /**
+     * Get comma-separated URLs opened when a profile template is built, to warm its HTTP cache
+     * @return Warm-up URLs, empty for the base URL
+     */
+    public String getProfileTemplateWarmUrls() {
+        return getProperty("profile.template.warm.urls", "");
+    }
+}
\ No newline at end of file
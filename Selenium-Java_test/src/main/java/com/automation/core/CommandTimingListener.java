@@ -0,0 +1,116 @@
+package com.automation.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+
+/**
+ * Records the wall time of every WebDriver, WebElement and navigation command into
+ * {@link CommandTimings}. Commands are tagged with the innermost page object on the call
+ * stack and, for find commands, the locator strategy.
+ */
+public class CommandTimingListener implements WebDriverListener {
+    private static final String BASE_PAGE = "BasePage";
+    // Deep enough for the decorator frames, waits and BasePage helpers between a page and a command
+    private static final int MAX_STACK_DEPTH = 64;
+    private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ThreadLocal<CallStack> callStack = ThreadLocal.withInitial(CallStack::new);
+    
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        callStack.get().push(System.nanoTime());
+    }
+    
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, args, System.nanoTime() - callStack.get().pop());
+    }
+    
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, args, System.nanoTime() - callStack.get().pop());
+    }
+    
+    private static void record(Method method, Object[] args, long nanos) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (declaringClass == Object.class) {
+            return;
+        }
+        
+        String command = method.getName();
+        if (declaringClass != WebDriver.class && declaringClass != WebElement.class && declaringClass != SearchContext.class
+                && declaringClass != JavascriptExecutor.class && declaringClass != TakesScreenshot.class) {
+            command = declaringClass.getSimpleName().toLowerCase() + "." + command;
+        }
+        
+        CommandTimings.getInstance().record(command, findPage(), locatorStrategy(args), nanos);
+    }
+    
+    /**
+     * Find the innermost page object on the call stack, looking past BasePage helpers to the
+     * page that called them. Only the top of the stack is walked, so commands issued outside
+     * pages do not walk down to the thread's first frame.
+     * @return Page class name, or null when the command was not issued from a page
+     */
+    private static String findPage() {
+        return stackWalker.walk(frames -> {
+            String basePage = null;
+            Iterator<StackWalker.StackFrame> iterator = frames.limit(MAX_STACK_DEPTH).iterator();
+            while (iterator.hasNext()) {
+                String name = iterator.next().getDeclaringClass().getSimpleName();
+                if (BASE_PAGE.equals(name)) {
+                    basePage = name;
+                } else if (name.endsWith("Page")) {
+                    return name;
+                }
+            }
+            return basePage;
+        });
+    }
+    
+    /**
+     * Get the locator strategy of a find command, such as xpath or cssSelector
+     * @param args Command arguments
+     * @return Locator strategy, or null when the command has no locator
+     */
+    private static String locatorStrategy(Object[] args) {
+        if (args == null || args.length == 0 || !(args[0] instanceof By)) {
+            return null;
+        }
+        String locator = args[0].toString();
+        int separator = locator.indexOf(':');
+        if (locator.startsWith("By.") && separator > 0) {
+            return locator.substring(3, separator);
+        }
+        return args[0].getClass().getSimpleName();
+    }
+    
+    /**
+     * Start times of the commands in progress on a thread
+     */
+    private static final class CallStack {
+        private long[] starts = new long[8];
+        private int depth;
+        
+        void push(long start) {
+            if (depth == starts.length) {
+                long[] grown = new long[depth * 2];
+                System.arraycopy(starts, 0, grown, 0, depth);
+                starts = grown;
+            }
+            starts[depth++] = start;
+        }
+        
+        long pop() {
+            return depth > 0 ? starts[--depth] : System.nanoTime();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.automation.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Wall time of WebDriver commands recorded by {@link CommandTimingListener}. Each thread
+ * records into its own histograms, tagged with command, page class and locator strategy,
+ * which are merged when the suite summary is written.
+ */
+public final class CommandTimings {
+    private static final Logger logger = LogManager.getLogger(CommandTimings.class);
+    private static final String NONE = "-";
+    private static CommandTimings instance;
+    
+    private final Queue<Map<String, LatencyHistogram>> allThreads = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Map<String, LatencyHistogram>> threadHistograms = ThreadLocal.withInitial(() -> {
+        Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+        allThreads.add(histograms);
+        return histograms;
+    });
+    
+    private CommandTimings() {
+        // Private constructor for singleton
+    }
+    
+    /**
+     * Get singleton instance of CommandTimings
+     * @return CommandTimings instance
+     */
+    public static synchronized CommandTimings getInstance() {
+        if (instance == null) {
+            instance = new CommandTimings();
+        }
+        return instance;
+    }
+    
+    /**
+     * Check whether any timings have been recorded in this JVM
+     * @return true if timings exist
+     */
+    public static synchronized boolean isCreated() {
+        return instance != null;
+    }
+    
+    /**
+     * Record the wall time of one command on the current thread
+     * @param command Command name
+     * @param page Page class the command was issued from, or null
+     * @param strategy Locator strategy, or null
+     * @param nanos Wall time in nanoseconds
+     */
+    void record(String command, String page, String strategy, long nanos) {
+        String key = command + '\t' + (page != null ? page : NONE) + '\t' + (strategy != null ? strategy : NONE);
+        threadHistograms.get().computeIfAbsent(key, k -> new LatencyHistogram()).record(nanos / 1000);
+    }
+    
+    /**
+     * Merge the histograms of all threads into one summary row per command, page and
+     * locator strategy, ordered by total time
+     * @return Summary rows with times in milliseconds
+     */
+    public List<Map<String, Object>> getSummary() {
+        Map<String, LatencyHistogram> merged = new HashMap<>();
+        for (Map<String, LatencyHistogram> histograms : allThreads) {
+            for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+                merged.computeIfAbsent(entry.getKey(), k -> new LatencyHistogram()).add(entry.getValue());
+            }
+        }
+        
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : merged.entrySet()) {
+            String[] tags = entry.getKey().split("\t", -1);
+            LatencyHistogram histogram = entry.getValue();
+            
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("command", tags[0]);
+            row.put("page", tags[1]);
+            row.put("strategy", tags[2]);
+            row.put("count", histogram.getCount());
+            row.put("totalMs", toMillis(histogram.getTotal()));
+            row.put("meanMs", toMillis(histogram.getTotal() / histogram.getCount()));
+            row.put("p50Ms", toMillis(histogram.getValueAtPercentile(50)));
+            row.put("p90Ms", toMillis(histogram.getValueAtPercentile(90)));
+            row.put("p99Ms", toMillis(histogram.getValueAtPercentile(99)));
+            row.put("maxMs", toMillis(histogram.getMax()));
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparing((Map<String, Object> row) -> (Double) row.get("totalMs")).reversed());
+        return rows;
+    }
+    
+    /**
+     * Write the summary to a JSON file
+     * @param filePath Path to the JSON file
+     */
+    public void writeJson(String filePath) {
+        File file = new File(filePath);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, getSummary());
+            logger.info("Command timings written to: " + filePath);
+        } catch (IOException e) {
+            logger.error("Failed to write command timings: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Get the slowest summary rows as a table, with a header row
+     * @param limit Maximum number of rows
+     * @return Table cells
+     */
+    public String[][] getSummaryTable(int limit) {
+        String[] columns = {"command", "page", "strategy", "count", "totalMs", "meanMs", "p50Ms", "p90Ms", "p99Ms", "maxMs"};
+        List<Map<String, Object>> rows = getSummary();
+        int size = Math.min(limit, rows.size());
+        
+        String[][] table = new String[size + 1][];
+        table[0] = columns;
+        for (int i = 0; i < size; i++) {
+            table[i + 1] = new String[columns.length];
+            for (int j = 0; j < columns.length; j++) {
+                table[i + 1][j] = String.valueOf(rows.get(i).get(columns[j]));
+            }
+        }
+        return table;
+    }
+    
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.automation.core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * WebDriverWait that waits no longer than the running test's {@link TestDeadline} allows
+ */
+public class DeadlineWait extends WebDriverWait {
+    private final Duration timeout;
+    
+    /**
+     * Constructor
+     * @param driver WebDriver instance
+     * @param timeout Timeout of each wait, cut to the test's remaining budget
+     */
+    public DeadlineWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+        this.timeout = timeout;
+    }
+    
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        return TestDeadline.track("wait", () -> {
+            withTimeout(TestDeadline.timeout(timeout));
+            return super.until(isTrue);
+        });
+    }
+}
\ No newline at end of file
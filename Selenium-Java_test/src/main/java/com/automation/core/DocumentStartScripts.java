@@ -0,0 +1,97 @@
+package com.automation.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scripts that Chromium sessions run at the start of every document, added through the CDP
+ * command Page.addScriptToEvaluateOnNewDocument. The command only reaches the tab that is
+ * current when it runs, so the scripts of a pooled session are added again to the fresh tab
+ * a pool reset opens, and forgotten when the session is quit.
+ */
+public final class DocumentStartScripts {
+    private static final Logger logger = LogManager.getLogger(DocumentStartScripts.class);
+    private static final Map<SessionId, Set<String>> scripts = new ConcurrentHashMap<>();
+    
+    private DocumentStartScripts() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Run a script at the start of every later document of a session. Does nothing if the
+     * script was already added to the session or the session is not a Chromium one.
+     * @param driver WebDriver instance; a decorated driver is resolved to the thread's session
+     * @param source Script source
+     */
+    public static void add(WebDriver driver, String source) {
+        ChromiumDriver chromium = chromium(driver);
+        if (chromium == null || chromium.getSessionId() == null) {
+            return;
+        }
+        Set<String> added = scripts.computeIfAbsent(chromium.getSessionId(), id -> ConcurrentHashMap.newKeySet());
+        if (added.add(source)) {
+            addToCurrentWindow(chromium, source);
+        }
+    }
+    
+    /**
+     * Add the scripts of a session to its current tab, after the tabs they were added to
+     * have been closed
+     * @param driver Undecorated Chromium session
+     */
+    static void addToCurrentWindow(ChromiumDriver driver) {
+        for (String source : scripts.getOrDefault(driver.getSessionId(), Collections.emptySet())) {
+            addToCurrentWindow(driver, source);
+        }
+    }
+    
+    /**
+     * Forget the scripts of a session that has been quit
+     * @param session Session id, read before the session was quit; may be null
+     */
+    static void forget(SessionId session) {
+        if (session != null) {
+            scripts.remove(session);
+        }
+    }
+    
+    /**
+     * Get the id of a session before it is quit, which clears it
+     * @param driver Undecorated WebDriver instance
+     * @return Session id, or null for drivers without one
+     */
+    static SessionId sessionId(WebDriver driver) {
+        return driver instanceof RemoteWebDriver ? ((RemoteWebDriver) driver).getSessionId() : null;
+    }
+    
+    private static void addToCurrentWindow(ChromiumDriver driver, String source) {
+        try {
+            driver.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Collections.singletonMap("source", source));
+        } catch (Exception e) {
+            logger.debug("Could not add document start script through CDP: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Resolve the Chromium session behind a driver. Decorated drivers cannot be unwrapped
+     * reliably, so the thread's own undecorated driver is used for them.
+     * @param driver WebDriver instance
+     * @return Chromium session, or null
+     */
+    private static ChromiumDriver chromium(WebDriver driver) {
+        WebDriver undecorated = driver;
+        if (!(driver instanceof ChromiumDriver) && driver != null && driver == DriverManager.getDriver()) {
+            undecorated = DriverManager.getUndecoratedDriver();
+        }
+        return undecorated instanceof ChromiumDriver ? (ChromiumDriver) undecorated : null;
+    }
+}
\ No newline at end of file
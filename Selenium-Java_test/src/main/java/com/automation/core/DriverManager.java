@@ -1,5 +1,7 @@
 package com.automation.core;
 
+import com.automation.config.ConfigReader;
+import com.automation.jfr.DriverLifecycleEvent;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -8,10 +10,12 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.SessionId;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.openqa.selenium.support.events.WebDriverListener;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,18 +25,93 @@ import java.util.Map;
  */
 public class DriverManager {
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<DriverPool.PooledDriver> leaseThreadLocal = new ThreadLocal<>();
+    // Undecorated driver of a session launched for this thread alone
+    private static final ThreadLocal<WebDriver> launchedThreadLocal = new ThreadLocal<>();
     
     private DriverManager() {
         // Private constructor to prevent instantiation
     }
     
     /**
-     * Initialize the WebDriver based on browser type
+     * Initialize the WebDriver based on browser type. When the driver pool is enabled
+     * the session is leased from {@link DriverPool} instead of being launched. When command
+     * timing or page weight is enabled the returned driver is decorated with
+     * {@link CommandTimingListener} or {@link PageWeightListener}, in explicit-wait mode
+     * with {@link WaitAuditListener}, and when URLs are blocked with {@link ResourceBlockingListener}.
      * @param browser Browser type (chrome, firefox, edge, safari)
      * @param headless Whether to run in headless mode
      * @return WebDriver instance
      */
     public static WebDriver initializeDriver(String browser, boolean headless) {
+        DriverLifecycleEvent event = new DriverLifecycleEvent();
+        event.begin();
+        
+        WebDriver driver;
+        if (ConfigReader.getInstance().isDriverPoolEnabled()) {
+            DriverPool.PooledDriver pooled = DriverPool.getInstance().lease(browser, headless);
+            leaseThreadLocal.set(pooled);
+            driver = pooled.getDriver();
+        } else {
+            driver = createDriver(browser, headless);
+            launchedThreadLocal.set(driver);
+        }
+        
+        // Set driver in ThreadLocal
+        setDriver(driver);
+        
+        if (ResourceBlocking.blocksUrls(driver)) {
+            registerListener(new ResourceBlockingListener(driver));
+        }
+        if (isExplicitWaitOnly()) {
+            registerListener(new WaitAuditListener());
+        }
+        if (ConfigReader.getInstance().isPageWeightEnabled()) {
+            registerListener(new PageWeightListener(driver));
+        }
+        if (ConfigReader.getInstance().isCommandTimingEnabled()) {
+            registerListener(new CommandTimingListener());
+        }
+        
+        if (event.shouldCommit()) {
+            event.action = "initialize";
+            event.browser = browser;
+            event.headless = headless;
+            event.pooled = leaseThreadLocal.get() != null;
+            event.commit();
+        }
+        return getDriver();
+    }
+    
+    /**
+     * Launch a new WebDriver session based on browser type. With profile.template.enabled the
+     * session starts on a clone of the browser's {@link ProfileTemplates profile template},
+     * which is deleted when the session is quit through {@link #quitDriver()} or the pool.
+     * @param browser Browser type (chrome, firefox, edge, safari)
+     * @param headless Whether to run in headless mode
+     * @return WebDriver instance
+     */
+    static WebDriver createDriver(String browser, boolean headless) {
+        Path profile = ProfileTemplates.sessionProfile(browser, headless);
+        WebDriver driver;
+        try {
+            driver = createDriver(browser, headless, profile);
+        } catch (RuntimeException e) {
+            ProfileTemplates.discard(profile);
+            throw e;
+        }
+        ProfileTemplates.attach(driver, profile);
+        return driver;
+    }
+    
+    /**
+     * Launch a new WebDriver session on a given profile directory
+     * @param browser Browser type (chrome, firefox, edge, safari)
+     * @param headless Whether to run in headless mode
+     * @param profileDir Profile directory the browser uses, or null for a new temporary profile
+     * @return WebDriver instance
+     */
+    static WebDriver createDriver(String browser, boolean headless, Path profileDir) {
         WebDriver driver;
         
         switch (browser.toLowerCase()) {
@@ -44,10 +123,14 @@ public class DriverManager {
                 }
                 chromeOptions.addArguments("--start-maximized");
                 chromeOptions.addArguments("--disable-notifications");
+                if (profileDir != null) {
+                    chromeOptions.addArguments("--user-data-dir=" + profileDir.toAbsolutePath());
+                }
                 
                 // For downloading files
                 Map<String, Object> prefs = new HashMap<>();
                 prefs.put("download.default_directory", System.getProperty("user.dir") + "/downloads");
+                ResourceBlocking.addChromiumPrefs(prefs);
                 chromeOptions.setExperimentalOption("prefs", prefs);
                 
                 driver = new ChromeDriver(chromeOptions);
@@ -59,6 +142,12 @@ public class DriverManager {
                 if (headless) {
                     firefoxOptions.addArguments("--headless");
                 }
+                if (profileDir != null) {
+                    firefoxOptions.addArguments("-profile", profileDir.toAbsolutePath().toString());
+                }
+                Map<String, Object> firefoxPrefs = new HashMap<>();
+                ResourceBlocking.addFirefoxPrefs(firefoxPrefs);
+                firefoxPrefs.forEach(firefoxOptions::addPreference);
                 driver = new FirefoxDriver(firefoxOptions);
                 break;
                 
@@ -68,6 +157,12 @@ public class DriverManager {
                 if (headless) {
                     edgeOptions.addArguments("--headless");
                 }
+                if (profileDir != null) {
+                    edgeOptions.addArguments("--user-data-dir=" + profileDir.toAbsolutePath());
+                }
+                Map<String, Object> edgePrefs = new HashMap<>();
+                ResourceBlocking.addChromiumPrefs(edgePrefs);
+                edgeOptions.setExperimentalOption("prefs", edgePrefs);
                 driver = new EdgeDriver(edgeOptions);
                 break;
                 
@@ -79,20 +174,36 @@ public class DriverManager {
                 throw new IllegalArgumentException("Browser " + browser + " is not supported");
         }
         
+        // Block the resources dropped by the configured profile
+        ResourceBlocking.blockUrls(driver);
+        
         // Configure timeouts
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(getImplicitWaitSeconds()));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
         driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
         
         // Maximize window
         driver.manage().window().maximize();
         
-        // Set driver in ThreadLocal
-        setDriver(driver);
-        
         return driver;
     }
     
+    /**
+     * Check if implicit waits are off and lookups wait explicitly (wait.mode=explicit)
+     * @return true in explicit-wait mode
+     */
+    public static boolean isExplicitWaitOnly() {
+        return "explicit".equalsIgnoreCase(ConfigReader.getInstance().getWaitMode().trim());
+    }
+    
+    /**
+     * Get the implicit wait to set on new sessions: 0 in explicit-wait mode, otherwise implicit.wait
+     * @return Implicit wait in seconds
+     */
+    public static int getImplicitWaitSeconds() {
+        return isExplicitWaitOnly() ? 0 : ConfigReader.getInstance().getImplicitWaitTime();
+    }
+    
     /**
      * Get the current WebDriver instance
      * @return WebDriver instance
@@ -101,6 +212,15 @@ public class DriverManager {
         return driverThreadLocal.get();
     }
     
+    /**
+     * Get the session behind the current WebDriver, without the listeners it may be decorated with
+     * @return Undecorated WebDriver instance, or null if the driver was not created by this class
+     */
+    public static WebDriver getUndecoratedDriver() {
+        DriverPool.PooledDriver pooled = leaseThreadLocal.get();
+        return pooled != null ? pooled.getDriver() : launchedThreadLocal.get();
+    }
+    
     /**
      * Set the WebDriver instance
      * @param driver WebDriver instance
@@ -120,12 +240,54 @@ public class DriverManager {
     }
     
     /**
-     * Quit the WebDriver instance and remove it from ThreadLocal
+     * Quit the WebDriver instance and remove it from ThreadLocal.
+     * Pooled sessions are reset and returned to the pool instead of being quit.
      */
     public static void quitDriver() {
-        if (getDriver() != null) {
-            getDriver().quit();
+        DriverLifecycleEvent event = new DriverLifecycleEvent();
+        event.begin();
+        
+        DriverPool.PooledDriver pooled = leaseThreadLocal.get();
+        if (pooled != null) {
+            leaseThreadLocal.remove();
             driverThreadLocal.remove();
+            DriverPool.getInstance().release(pooled);
+        } else if (getDriver() != null) {
+            WebDriver launched = launchedThreadLocal.get();
+            launchedThreadLocal.remove();
+            SessionId session = DocumentStartScripts.sessionId(launched);
+            try {
+                getDriver().quit();
+            } finally {
+                driverThreadLocal.remove();
+                ProfileTemplates.release(launched);
+                DocumentStartScripts.forget(session);
+            }
+        } else {
+            return;
+        }
+        
+        event.action = "quit";
+        event.pooled = pooled != null;
+        event.commit();
+    }
+    
+    /**
+     * Mark the current pooled session as unusable so it is quit rather than reused
+     */
+    public static void poisonDriver() {
+        DriverPool.PooledDriver pooled = leaseThreadLocal.get();
+        if (pooled != null) {
+            pooled.poison();
+        }
+    }
+    
+    /**
+     * Quit all pooled sessions. Called at the end of the suite.
+     */
+    public static void shutdownPool() {
+        if (DriverPool.isCreated()) {
+            DriverPool.getInstance().shutdown();
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,395 @@
+package com.automation.core;
+
+import com.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of pre-launched WebDriver sessions, keyed by browser type and headless mode.
+ * Sessions are leased to threads, reset on return and only quit when poisoned, when they
+ * cannot be reset, when they exceed the maximum age or when the pool is shut down at the end
+ * of the suite. Tests that fail poison their session.
+ */
+public final class DriverPool {
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static DriverPool instance;
+    
+    private final int poolSize;
+    private final int warmUpCount;
+    private final long maxLeaseAgeMillis;
+    private final long leaseTimeoutMillis;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Set<PooledDriver> allDrivers = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong reusedLeases = new AtomicLong();
+    private final AtomicLong sessionsCreated = new AtomicLong();
+    private final AtomicLong sessionsRetired = new AtomicLong();
+    private final AtomicLong leaseWaitNanos = new AtomicLong();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+    private volatile boolean shutdown;
+    
+    private DriverPool() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.poolSize = Math.max(1, config.getDriverPoolSize());
+        this.warmUpCount = Math.min(poolSize, Math.max(0, config.getDriverPoolWarmUpCount()));
+        this.maxLeaseAgeMillis = TimeUnit.SECONDS.toMillis(config.getDriverPoolMaxLeaseAge());
+        this.leaseTimeoutMillis = TimeUnit.SECONDS.toMillis(config.getDriverPoolLeaseTimeout());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+    
+    /**
+     * Get singleton instance of DriverPool
+     * @return DriverPool instance
+     */
+    public static synchronized DriverPool getInstance() {
+        if (instance == null) {
+            instance = new DriverPool();
+        }
+        return instance;
+    }
+    
+    /**
+     * Check whether a pool has been created in this JVM
+     * @return true if the pool exists
+     */
+    static synchronized boolean isCreated() {
+        return instance != null;
+    }
+    
+    /**
+     * Pre-launch the configured number of sessions for a browser type
+     * @param browser Browser type
+     * @param headless Whether to run in headless mode
+     */
+    public void warmUp(String browser, boolean headless) {
+        Slot slot = slotFor(browser, headless);
+        int missing = warmUpCount - slot.idle.size();
+        if (missing <= 0) {
+            return;
+        }
+        
+        logger.info("Warming up " + missing + " " + slot.key + " session(s)");
+        ExecutorService launcher = Executors.newFixedThreadPool(missing);
+        try {
+            for (int i = 0; i < missing; i++) {
+                launcher.submit(() -> {
+                    try {
+                        slot.idle.offerLast(create(slot));
+                    } catch (Exception e) {
+                        logger.warn("Failed to warm up " + slot.key + " session: " + e.getMessage());
+                    }
+                });
+            }
+        } finally {
+            launcher.shutdown();
+        }
+        try {
+            launcher.awaitTermination(leaseTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Lease a session, waiting for one to be returned if the pool is exhausted
+     * @param browser Browser type
+     * @param headless Whether to run in headless mode
+     * @return Leased session
+     */
+    public PooledDriver lease(String browser, boolean headless) {
+        if (shutdown) {
+            throw new IllegalStateException("Driver pool has been shut down");
+        }
+        
+        Slot slot = slotFor(browser, headless);
+        if (slot.warmed.compareAndSet(false, true)) {
+            warmUp(browser, headless);
+        }
+        
+        long start = System.nanoTime();
+        try {
+            if (!slot.permits.tryAcquire(leaseTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out after " + leaseTimeoutMillis + " ms waiting for a " + slot.key + " session");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a " + slot.key + " session", e);
+        }
+        recordWait(System.nanoTime() - start);
+        
+        try {
+            PooledDriver pooled = slot.idle.pollFirst();
+            if (pooled != null) {
+                reusedLeases.incrementAndGet();
+            } else {
+                pooled = create(slot);
+            }
+            pooled.leasedAt = System.currentTimeMillis();
+            leases.incrementAndGet();
+            return pooled;
+        } catch (RuntimeException e) {
+            slot.permits.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Return a leased session to the pool, resetting its state. Sessions that fail to reset
+     * or have outlived the maximum lease age are quit instead of being reused.
+     * @param pooled Leased session
+     */
+    public void release(PooledDriver pooled) {
+        Slot slot = slots.get(pooled.key);
+        try {
+            if (shutdown || pooled.poisoned || isExpired(pooled) || !reset(pooled)) {
+                retire(pooled);
+            } else {
+                slot.idle.offerFirst(pooled);
+            }
+        } finally {
+            slot.permits.release();
+        }
+    }
+    
+    /**
+     * Quit every pooled session and log pool statistics
+     */
+    public synchronized void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        
+        List<PooledDriver> drivers = new ArrayList<>(allDrivers);
+        for (PooledDriver pooled : drivers) {
+            retire(pooled);
+        }
+        slots.values().forEach(slot -> slot.idle.clear());
+        logger.info("Driver pool shut down. " + getStats());
+    }
+    
+    /**
+     * Get total time threads spent waiting for a lease
+     * @return Lease wait time in milliseconds
+     */
+    public long getTotalLeaseWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos.get());
+    }
+    
+    /**
+     * Get the longest single lease wait
+     * @return Maximum lease wait time in milliseconds
+     */
+    public long getMaxLeaseWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get());
+    }
+    
+    /**
+     * Get the fraction of leases served by an already running session
+     * @return Reuse ratio between 0 and 1
+     */
+    public double getReuseRatio() {
+        long total = leases.get();
+        return total == 0 ? 0.0 : (double) reusedLeases.get() / total;
+    }
+    
+    /**
+     * Get a one-line summary of pool statistics
+     * @return Pool statistics
+     */
+    public String getStats() {
+        long total = leases.get();
+        long avgWait = total == 0 ? 0 : getTotalLeaseWaitMillis() / total;
+        return String.format("Leases: %d, reused: %d (%.1f%%), sessions created: %d, retired: %d, "
+                        + "lease wait total/avg/max: %d/%d/%d ms",
+                total, reusedLeases.get(), getReuseRatio() * 100, sessionsCreated.get(), sessionsRetired.get(),
+                getTotalLeaseWaitMillis(), avgWait, getMaxLeaseWaitMillis());
+    }
+    
+    private Slot slotFor(String browser, boolean headless) {
+        String key = browser.toLowerCase() + (headless ? "-headless" : "");
+        return slots.computeIfAbsent(key, k -> new Slot(k, browser, headless, poolSize));
+    }
+    
+    private PooledDriver create(Slot slot) {
+        WebDriver driver = DriverManager.createDriver(slot.browser, slot.headless);
+        PooledDriver pooled = new PooledDriver(slot.key, driver, driver.getWindowHandle());
+        allDrivers.add(pooled);
+        sessionsCreated.incrementAndGet();
+        return pooled;
+    }
+    
+    private boolean isExpired(PooledDriver pooled) {
+        return maxLeaseAgeMillis > 0 && System.currentTimeMillis() - pooled.createdAt > maxLeaseAgeMillis;
+    }
+    
+    /**
+     * Clear cookies, storage of every visited origin and all windows so the next lease starts
+     * clean. Only Chromium sessions can be reset: WebDriver alone reaches the storage of the
+     * current origin only, so other sessions are retired instead.
+     * @param pooled Session to reset
+     * @return true if the session was reset successfully
+     */
+    private boolean reset(PooledDriver pooled) {
+        if (!(pooled.driver instanceof ChromiumDriver)) {
+            return false;
+        }
+        ChromiumDriver driver = (ChromiumDriver) pooled.driver;
+        try {
+            Set<String> origins = new HashSet<>();
+            Set<String> oldHandles = driver.getWindowHandles();
+            for (String handle : oldHandles) {
+                driver.switchTo().window(handle);
+                origins.addAll(visitedOrigins(driver));
+            }
+            
+            // A fresh tab drops the session storage and history of the old ones
+            driver.switchTo().newWindow(WindowType.TAB);
+            String primaryHandle = driver.getWindowHandle();
+            for (String handle : oldHandles) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(primaryHandle);
+            pooled.primaryHandle = primaryHandle;
+            ResourceBlocking.blockUrlsInCurrentWindow(driver);
+            DocumentStartScripts.addToCurrentWindow(driver);
+            
+            for (String origin : origins) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("origin", origin);
+                params.put("storageTypes", "all");
+                driver.executeCdpCommand("Storage.clearDataForOrigin", params);
+            }
+            // WebDriver can only delete cookies for the current domain, CDP clears all of them
+            driver.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled " + pooled.key + " session, retiring it: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Get the http(s) origins in the navigation history of the current window
+     * @param driver Chromium session
+     * @return Visited origins
+     */
+    private static Set<String> visitedOrigins(ChromiumDriver driver) {
+        Set<String> origins = new HashSet<>();
+        Map<String, Object> history = driver.executeCdpCommand("Page.getNavigationHistory", Collections.emptyMap());
+        for (Object entry : (List<?>) history.get("entries")) {
+            try {
+                URI uri = URI.create(String.valueOf(((Map<?, ?>) entry).get("url")));
+                if ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) {
+                    origins.add(uri.getScheme() + "://" + uri.getRawAuthority());
+                }
+            } catch (IllegalArgumentException e) {
+                // Not a URL the page could have stored data for
+            }
+        }
+        return origins;
+    }
+    
+    private void retire(PooledDriver pooled) {
+        if (!allDrivers.remove(pooled)) {
+            return;
+        }
+        sessionsRetired.incrementAndGet();
+        SessionId session = DocumentStartScripts.sessionId(pooled.driver);
+        try {
+            pooled.driver.quit();
+        } catch (Exception e) {
+            logger.warn("Failed to quit pooled " + pooled.key + " session: " + e.getMessage());
+        } finally {
+            ProfileTemplates.release(pooled.driver);
+            DocumentStartScripts.forget(session);
+        }
+    }
+    
+    private void recordWait(long nanos) {
+        leaseWaitNanos.addAndGet(nanos);
+        maxLeaseWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+    
+    /**
+     * Idle sessions and lease permits for one browser type
+     */
+    private static final class Slot {
+        private final String key;
+        private final String browser;
+        private final boolean headless;
+        private final LinkedBlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+        private final Semaphore permits;
+        private final AtomicBoolean warmed = new AtomicBoolean();
+        
+        private Slot(String key, String browser, boolean headless, int size) {
+            this.key = key;
+            this.browser = browser;
+            this.headless = headless;
+            this.permits = new Semaphore(size, true);
+        }
+    }
+    
+    /**
+     * A WebDriver session owned by the pool
+     */
+    public static final class PooledDriver {
+        private final String key;
+        private final WebDriver driver;
+        private volatile String primaryHandle;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long leasedAt;
+        private volatile boolean poisoned;
+        
+        private PooledDriver(String key, WebDriver driver, String primaryHandle) {
+            this.key = key;
+            this.driver = driver;
+            this.primaryHandle = primaryHandle;
+        }
+        
+        /**
+         * Get the underlying WebDriver
+         * @return WebDriver instance
+         */
+        public WebDriver getDriver() {
+            return driver;
+        }
+        
+        /**
+         * Get the time this session was leased
+         * @return Lease time in epoch milliseconds
+         */
+        public long getLeasedAt() {
+            return leasedAt;
+        }
+        
+        /**
+         * Mark this session as unusable so it is quit instead of returned to the pool
+         */
+        public void poison() {
+            this.poisoned = true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.automation.core;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram. Each power of two is split into
+ * 32 linear sub-buckets, so recorded values keep about 3% precision from microseconds up to
+ * hours in a fixed array. Written by one thread and merged from another at suite end, so
+ * recording and merging lock the histogram; the lock is uncontended while tests run.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final long MAX_VALUE = (1L << 40) - 1;
+    
+    private final long[] counts = new long[indexOf(MAX_VALUE) + 1];
+    private long count;
+    private long total;
+    private long max;
+    
+    /**
+     * Record a value
+     * @param value Value in microseconds
+     */
+    synchronized void record(long value) {
+        long clamped = Math.max(0, Math.min(value, MAX_VALUE));
+        counts[indexOf(clamped)]++;
+        count++;
+        total += clamped;
+        max = Math.max(max, clamped);
+    }
+    
+    /**
+     * Add all values recorded by another histogram
+     * @param other Histogram to merge
+     */
+    void add(LatencyHistogram other) {
+        synchronized (other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            count += other.count;
+            total += other.total;
+            max = Math.max(max, other.max);
+        }
+    }
+    
+    long getCount() {
+        return count;
+    }
+    
+    long getTotal() {
+        return total;
+    }
+    
+    long getMax() {
+        return max;
+    }
+    
+    /**
+     * Get the value at a percentile
+     * @param percentile Percentile between 0 and 100
+     * @return Upper bound of the bucket holding the percentile, in microseconds
+     */
+    long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+    
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+    
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
\ No newline at end of file
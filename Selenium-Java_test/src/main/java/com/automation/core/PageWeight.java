@@ -0,0 +1,347 @@
+package com.automation.core;
+
+import com.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bytes transferred and load time of the pages each test visits, read from the browser's
+ * Resource Timing entries by {@link PageWeightListener} before the page is left. Runs with
+ * resource.blocking.profile=none record a per-page baseline to page.weight.baseline.path,
+ * replacing the one of the previous baseline run; runs with a blocking profile report bytes
+ * saved and load time change against it. Resource Timing reports 0 bytes for cross-origin
+ * resources without Timing-Allow-Origin, so totals undercount third-party traffic.
+ */
+public final class PageWeight {
+    private static final Logger logger = LogManager.getLogger(PageWeight.class);
+    private static final String FILE_HEADER = "# page-weight v1";
+    private static final String BUFFER_SCRIPT = "performance.setResourceTimingBufferSize(5000);";
+    
+    /**
+     * Returns [document id, URL, bytes, requests, load ms or -1] for entries not yet reported
+     */
+    private static final String SAMPLE_SCRIPT =
+            "var w = window.__pageWeight;" +
+            "if (!w) {" +
+            "  w = window.__pageWeight = { id: Math.random().toString(36).slice(2), next: 0, nav: false, load: false };" +
+            "  try { " + BUFFER_SCRIPT + " } catch (e) {}" +
+            "}" +
+            "var entries = performance.getEntriesByType('resource'), bytes = 0, requests = 0;" +
+            "for (var i = w.next; i < entries.length; i++) { bytes += entries[i].transferSize || 0; requests++; }" +
+            "w.next = entries.length;" +
+            "var nav = performance.getEntriesByType('navigation')[0], load = -1;" +
+            "if (nav && !w.nav) { bytes += nav.transferSize || 0; requests++; w.nav = true; }" +
+            "if (nav && !w.load && nav.loadEventEnd > 0) { load = Math.round(nav.loadEventEnd); w.load = true; }" +
+            "return [w.id, location.href, bytes, requests, load];";
+    
+    private static PageWeight instance;
+    
+    private final boolean recordingBaseline;
+    private final String profile;
+    private final Path baselinePath;
+    private final Map<String, long[]> baseline = new TreeMap<>();
+    private final ThreadLocal<TestWeight> testWeight = ThreadLocal.withInitial(TestWeight::new);
+    private boolean dirty;
+    
+    private final LongAdder pages = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder comparedPages = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+    private final LongAdder loadDeltaMillis = new LongAdder();
+    
+    private PageWeight() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.recordingBaseline = ResourceBlocking.getProfile() == ResourceBlocking.Profile.NONE;
+        this.profile = ResourceBlocking.getProfile().name().toLowerCase();
+        this.baselinePath = Paths.get(config.getPageWeightBaselinePath());
+        if (recordingBaseline) {
+            // Start empty so the saved baseline holds this run only
+            Runtime.getRuntime().addShutdownHook(new Thread(this::save, "page-weight-save"));
+        } else {
+            load();
+        }
+    }
+    
+    /**
+     * Get singleton instance of PageWeight
+     * @return PageWeight instance
+     */
+    public static synchronized PageWeight getInstance() {
+        if (instance == null) {
+            instance = new PageWeight();
+        }
+        return instance;
+    }
+    
+    /**
+     * Check whether page weights have been recorded in this JVM
+     * @return true if the instance exists
+     */
+    public static synchronized boolean isCreated() {
+        return instance != null;
+    }
+    
+    /**
+     * Read the entries the current page has loaded since the last sample
+     * @param driver WebDriver instance
+     */
+    void sample(WebDriver driver) {
+        registerBuffer(driver);
+        try {
+            List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(SAMPLE_SCRIPT);
+            testWeight.get().add(String.valueOf(result.get(0)), String.valueOf(result.get(1)),
+                    ((Number) result.get(2)).longValue(), ((Number) result.get(3)).longValue(),
+                    ((Number) result.get(4)).longValue());
+        } catch (WebDriverException | ClassCastException | NullPointerException e) {
+            // No document to read, such as during navigation or after the window closed
+            logger.debug("Could not sample page weight: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Sample the current page and summarize the pages the current thread visited since the
+     * last call
+     * @param driver WebDriver instance, or null if the session has ended
+     * @return One-line summary, or null if no page was sampled
+     */
+    public String endTest(WebDriver driver) {
+        if (driver != null) {
+            sample(driver);
+        }
+        TestWeight weight = testWeight.get();
+        weight.finishDocument();
+        testWeight.remove();
+        return weight.pages == 0 ? null : summarize(weight.pages, weight.bytes, weight.requests, weight.loads, weight.loadMillis,
+                weight.comparedPages, weight.savedBytes, weight.loadDeltaMillis);
+    }
+    
+    /**
+     * Get a one-line summary of all pages sampled in this JVM
+     * @return Page weight statistics
+     */
+    public String getStats() {
+        return summarize(pages.sum(), bytes.sum(), -1, 0, 0, comparedPages.sum(), savedBytes.sum(), loadDeltaMillis.sum());
+    }
+    
+    private String summarize(long pageCount, long byteCount, long requests, long loads, long loadMillis,
+                             long compared, long saved, long loadDelta) {
+        StringBuilder summary = new StringBuilder(String.format("Page weight (%s profile): %d page(s), %d KB",
+                profile, pageCount, byteCount / 1024));
+        if (requests >= 0) {
+            summary.append(String.format(" in %d request(s)", requests));
+        }
+        if (loads > 0) {
+            summary.append(String.format(", avg load %d ms", loadMillis / loads));
+        }
+        if (recordingBaseline) {
+            summary.append(", recorded as baseline");
+        } else if (compared > 0) {
+            summary.append(String.format(", vs baseline on %d page(s): %d KB saved, load %+d ms",
+                    compared, saved / 1024, loadDelta));
+        } else {
+            summary.append(", no baseline for these pages");
+        }
+        return summary.toString();
+    }
+    
+    /**
+     * Add a finished document to the suite totals, and to the baseline or the comparison
+     * @param weight Test the document belongs to
+     * @param document Finished document
+     */
+    private synchronized void finish(TestWeight weight, Document document) {
+        pages.increment();
+        bytes.add(document.bytes);
+        
+        long[] page = baseline.get(document.page);
+        if (recordingBaseline) {
+            if (page == null) {
+                page = new long[4];
+                baseline.put(document.page, page);
+            }
+            page[0]++;
+            page[1] += document.bytes;
+            if (document.loadMillis >= 0) {
+                page[2]++;
+                page[3] += document.loadMillis;
+            }
+            dirty = true;
+        } else if (page != null && page[0] > 0) {
+            long saved = page[1] / page[0] - document.bytes;
+            long loadDelta = document.loadMillis >= 0 && page[2] > 0 ? document.loadMillis - page[3] / page[2] : 0;
+            weight.comparedPages++;
+            weight.savedBytes += saved;
+            weight.loadDeltaMillis += loadDelta;
+            comparedPages.increment();
+            savedBytes.add(saved);
+            loadDeltaMillis.add(loadDelta);
+        }
+    }
+    
+    /**
+     * Persist the baseline if it changed since the last save
+     */
+    public synchronized void save() {
+        if (!recordingBaseline || !dirty) {
+            return;
+        }
+        
+        try {
+            if (baselinePath.getParent() != null) {
+                Files.createDirectories(baselinePath.getParent());
+            }
+            Path tempPath = baselinePath.resolveSibling(baselinePath.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.newLine();
+                for (Map.Entry<String, long[]> entry : baseline.entrySet()) {
+                    long[] page = entry.getValue();
+                    writer.write(entry.getKey() + "\t" + page[0] + "\t" + page[1] + "\t" + page[2] + "\t" + page[3]);
+                    writer.newLine();
+                }
+            }
+            Files.move(tempPath, baselinePath, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+            logger.info("Saved page weight baseline for " + baseline.size() + " page(s) to: " + baselinePath);
+        } catch (IOException e) {
+            logger.warn("Failed to save page weight baseline: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Load the baseline recorded by the last baseline run
+     */
+    private void load() {
+        if (!Files.exists(baselinePath)) {
+            return;
+        }
+        
+        try (BufferedReader reader = Files.newBufferedReader(baselinePath, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (!FILE_HEADER.equals(header)) {
+                logger.warn("Ignoring page weight baseline with unknown format: " + baselinePath);
+                return;
+            }
+            
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length == 5) {
+                    baseline.put(fields[0], new long[] {Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                            Long.parseLong(fields[3]), Long.parseLong(fields[4])});
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Failed to load page weight baseline: " + e.getMessage());
+            baseline.clear();
+        }
+    }
+    
+    /**
+     * Enlarge the Resource Timing buffer from document start on Chromium browsers, so pages
+     * with more than the default 250 resources are counted in full
+     * @param driver WebDriver instance
+     */
+    private void registerBuffer(WebDriver driver) {
+        DocumentStartScripts.add(driver, BUFFER_SCRIPT);
+    }
+    
+    /**
+     * Baseline key for a page URL. Path segments containing digits (product ids, session
+     * tokens) are collapsed so that similar pages share a baseline.
+     * @param url Page URL
+     * @return Page key
+     */
+    static String pageKey(String url) {
+        String host = "";
+        String path = "/";
+        try {
+            URI uri = URI.create(url);
+            host = uri.getAuthority() != null ? uri.getAuthority() : "";
+            path = uri.getPath() != null && !uri.getPath().isEmpty() ? uri.getPath() : "/";
+        } catch (IllegalArgumentException e) {
+            // Keep defaults for unparseable URLs
+        }
+        
+        StringBuilder normalized = new StringBuilder(host);
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                normalized.append('/').append(segment.matches(".*\\d.*") ? "*" : segment);
+            }
+        }
+        return normalized.length() == host.length() ? normalized.append('/').toString() : normalized.toString();
+    }
+    
+    /**
+     * Pages visited by one test on one thread
+     */
+    private final class TestWeight {
+        private Document document;
+        private int pages;
+        private long bytes;
+        private long requests;
+        private int loads;
+        private long loadMillis;
+        private int comparedPages;
+        private long savedBytes;
+        private long loadDeltaMillis;
+        
+        void add(String documentId, String url, long sampleBytes, long sampleRequests, long sampleLoadMillis) {
+            if (document == null || !document.id.equals(documentId)) {
+                finishDocument();
+                document = new Document(documentId, pageKey(url));
+            }
+            document.bytes += sampleBytes;
+            requests += sampleRequests;
+            if (sampleLoadMillis >= 0) {
+                document.loadMillis = sampleLoadMillis;
+            }
+        }
+        
+        void finishDocument() {
+            if (document == null) {
+                return;
+            }
+            pages++;
+            bytes += document.bytes;
+            if (document.loadMillis >= 0) {
+                loads++;
+                loadMillis += document.loadMillis;
+            }
+            finish(this, document);
+            document = null;
+        }
+    }
+    
+    /**
+     * One loaded document, sampled one or more times before it was left
+     */
+    private static final class Document {
+        private final String id;
+        private final String page;
+        private long bytes;
+        private long loadMillis = -1;
+        
+        Document(String id, String page) {
+            this.id = id;
+            this.page = page;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.automation.core;
+
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+
+/**
+ * Samples {@link PageWeight} before each command that may leave the current page: navigation,
+ * clicks, form submits, Enter key presses and quit. Samples are taken through the undecorated
+ * driver so they are not timed as test commands.
+ */
+public class PageWeightListener implements WebDriverListener {
+    private final WebDriver driver;
+    
+    /**
+     * Constructor
+     * @param driver Undecorated WebDriver the samples are read through
+     */
+    PageWeightListener(WebDriver driver) {
+        this.driver = driver;
+    }
+    
+    @Override
+    public void beforeGet(WebDriver driver, String url) {
+        sample();
+    }
+    
+    @Override
+    public void beforeAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args) {
+        sample();
+    }
+    
+    @Override
+    public void beforeClick(WebElement element) {
+        sample();
+    }
+    
+    @Override
+    public void beforeSubmit(WebElement element) {
+        sample();
+    }
+    
+    @Override
+    public void beforeSendKeys(WebElement element, CharSequence... keysToSend) {
+        if (keysToSend == null) {
+            return;
+        }
+        for (CharSequence keys : keysToSend) {
+            String text = String.valueOf(keys);
+            if (text.indexOf('\n') >= 0 || text.indexOf(Keys.ENTER.charAt(0)) >= 0 || text.indexOf(Keys.RETURN.charAt(0)) >= 0) {
+                sample();
+                return;
+            }
+        }
+    }
+    
+    @Override
+    public void beforeQuit(WebDriver driver) {
+        sample();
+    }
+    
+    private void sample() {
+        PageWeight.getInstance().sample(driver);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,327 @@
+package com.automation.core;
+
+import com.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pre-built browser profiles per browser under profile.template.path. A template is built once
+ * by launching the browser on an empty profile and opening profile.template.warm.urls, so it
+ * holds the downloaded components and a warm HTTP cache. Every session then starts on its own
+ * full clone of the template, cache included, because browsers open their cache files
+ * read-write and cannot share them. On Linux the clone is made with cp --reflink=auto, which
+ * shares blocks copy-on-write on file systems that support it and copies elsewhere.
+ * A clone is deleted when its session is quit; clones of runs that were killed are deleted by
+ * the next run.
+ */
+final class ProfileTemplates {
+    private static final Logger logger = LogManager.getLogger(ProfileTemplates.class);
+    // Lock files of a running browser, never copied into a clone
+    private static final Set<String> LOCK_FILES = new HashSet<>(Arrays.asList(
+            "SingletonLock", "SingletonCookie", "SingletonSocket", "lockfile", "DevToolsActivePort",
+            "parent.lock", "lock", ".parentlock"));
+    private static final boolean CP_REFLINK = System.getProperty("os.name").toLowerCase().contains("linux");
+    private static final long PID = ProcessHandle.current().pid();
+    // Clone of each running session, keyed by the driver createDriver returned
+    private static final Map<WebDriver, Path> sessionProfiles = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Set<Path> pendingProfiles = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean staleProfilesDeleted = new AtomicBoolean();
+    
+    static {
+        // Backstop for sessions that were never quit
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            synchronized (sessionProfiles) {
+                sessionProfiles.values().forEach(ProfileTemplates::delete);
+            }
+            pendingProfiles.forEach(ProfileTemplates::delete);
+        }, "profile-template-cleanup"));
+    }
+    
+    private ProfileTemplates() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Check if sessions start on a clone of a profile template
+     * @return true if profile.template.enabled is set
+     */
+    static boolean isEnabled() {
+        return ConfigReader.getInstance().isProfileTemplateEnabled();
+    }
+    
+    /**
+     * Create the profile directory for a new session, building the browser's template first if
+     * it does not exist yet. Pass the directory to {@link #attach} once the session is running,
+     * or to {@link #discard} if it fails to start.
+     * @param browser Browser type
+     * @param headless Whether the template is built in headless mode
+     * @return Clone of the template, or null if templates are off or the browser has none
+     */
+    static Path sessionProfile(String browser, boolean headless) {
+        return isEnabled() ? cloneTemplate(browser, headless) : null;
+    }
+    
+    /**
+     * Create a clone of the browser's template like {@link #sessionProfile}, whether or not
+     * profile.template.enabled is set
+     * @param browser Browser type
+     * @param headless Whether the template is built in headless mode
+     * @return Clone of the template, or null if the browser has none
+     */
+    static Path cloneTemplate(String browser, boolean headless) {
+        String name = browser.toLowerCase();
+        if ("safari".equals(name)) {
+            return null;
+        }
+        if (staleProfilesDeleted.compareAndSet(false, true)) {
+            deleteStaleProfiles();
+        }
+        Path template = template(name, headless);
+        Path profile = null;
+        try {
+            Path sessions = Files.createDirectories(getRoot().resolve("sessions"));
+            profile = Files.createTempDirectory(sessions, name + "-" + PID + "-");
+            pendingProfiles.add(profile);
+            long start = System.currentTimeMillis();
+            clone(template, profile);
+            logger.debug("Cloned " + name + " profile template into " + profile + " in "
+                    + (System.currentTimeMillis() - start) + " ms");
+            return profile;
+        } catch (IOException e) {
+            discard(profile);
+            throw new RuntimeException("Could not clone profile template " + template + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Tie a session profile to the driver running on it, so it is deleted on {@link #release}
+     * @param driver Undecorated driver launched on the profile
+     * @param profile Profile returned by {@link #sessionProfile}, may be null
+     */
+    static void attach(WebDriver driver, Path profile) {
+        if (profile != null) {
+            sessionProfiles.put(driver, profile);
+            pendingProfiles.remove(profile);
+        }
+    }
+    
+    /**
+     * Delete a session profile whose browser failed to start
+     * @param profile Profile returned by {@link #sessionProfile}, may be null
+     */
+    static void discard(Path profile) {
+        if (profile != null) {
+            pendingProfiles.remove(profile);
+            delete(profile);
+        }
+    }
+    
+    /**
+     * Delete the profile of a session after it has been quit. Does nothing for sessions
+     * without a template profile.
+     * @param driver Quit driver as returned by createDriver, not a decorated one
+     */
+    static void release(WebDriver driver) {
+        if (driver == null || sessionProfiles.isEmpty()) {
+            return;
+        }
+        Path profile = sessionProfiles.remove(driver);
+        if (profile != null) {
+            delete(profile);
+        }
+    }
+    
+    /**
+     * Get the template of a browser, building it if needed. The template is built in a
+     * separate directory and moved into place when complete, so an interrupted build is
+     * never used.
+     * @param browser Browser type in lower case
+     * @param headless Whether to build in headless mode
+     * @return Template directory
+     */
+    private static synchronized Path template(String browser, boolean headless) {
+        Path template = getRoot().resolve(browser);
+        if (Files.isDirectory(template)) {
+            return template;
+        }
+        
+        long start = System.currentTimeMillis();
+        Path building = null;
+        try {
+            building = Files.createTempDirectory(Files.createDirectories(getRoot()), browser + ".building-");
+            WebDriver driver = DriverManager.createDriver(browser, headless, building);
+            try {
+                for (String url : getWarmUrls()) {
+                    logger.info("Warming " + browser + " profile template with " + url);
+                    driver.get(url);
+                }
+            } finally {
+                driver.quit();
+            }
+            Files.move(building, template, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Built " + browser + " profile template " + template + " in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException e) {
+            delete(building);
+            if (Files.isDirectory(template)) {
+                // Another run finished building first
+                return template;
+            }
+            throw new RuntimeException("Could not build profile template " + template + ": " + e.getMessage(), e);
+        }
+        return template;
+    }
+    
+    /**
+     * Copy a template into a new profile directory without its lock files, with a
+     * copy-on-write clone where the platform offers one
+     * @param template Template directory
+     * @param profile Empty profile directory
+     * @throws IOException If a file cannot be copied
+     */
+    private static void clone(Path template, Path profile) throws IOException {
+        if (CP_REFLINK && cloneWithCp(template, profile)) {
+            deleteLockFiles(profile);
+            return;
+        }
+        Files.walkFileTree(template, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(profile.resolve(template.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+            
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (LOCK_FILES.contains(file.getFileName().toString()) || !attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                Files.copy(file, profile.resolve(template.relativize(file).toString()), StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+    
+    /**
+     * Clone a template with GNU cp, sharing blocks on copy-on-write file systems
+     * @param template Template directory
+     * @param profile Empty profile directory
+     * @return true if cp succeeded; on failure the profile directory is emptied again
+     */
+    private static boolean cloneWithCp(Path template, Path profile) {
+        try {
+            Process process = new ProcessBuilder("cp", "-a", "--reflink=auto",
+                    template.toAbsolutePath() + "/.", profile.toAbsolutePath().toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (process.waitFor() == 0) {
+                return true;
+            }
+        } catch (IOException e) {
+            logger.debug("cp is not available, copying profile template file by file: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(profile)) {
+            children.forEach(ProfileTemplates::delete);
+        } catch (IOException e) {
+            logger.debug("Could not empty " + profile + ": " + e.getMessage());
+        }
+        return false;
+    }
+    
+    private static void deleteLockFiles(Path profile) throws IOException {
+        List<Path> locks;
+        try (Stream<Path> files = Files.walk(profile)) {
+            locks = files.filter(file -> LOCK_FILES.contains(file.getFileName().toString())).collect(Collectors.toList());
+        }
+        for (Path lock : locks) {
+            Files.deleteIfExists(lock);
+        }
+    }
+    
+    /**
+     * Delete session clones left behind by runs whose JVM no longer exists
+     */
+    private static void deleteStaleProfiles() {
+        Path sessions = getRoot().resolve("sessions");
+        if (!Files.isDirectory(sessions)) {
+            return;
+        }
+        try (DirectoryStream<Path> profiles = Files.newDirectoryStream(sessions)) {
+            for (Path profile : profiles) {
+                String[] parts = profile.getFileName().toString().split("-");
+                try {
+                    long pid = Long.parseLong(parts[1]);
+                    if (pid != PID && !ProcessHandle.of(pid).isPresent()) {
+                        logger.info("Deleting stale session profile " + profile);
+                        delete(profile);
+                    }
+                } catch (RuntimeException e) {
+                    // Not a session clone
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not list " + sessions + ": " + e.getMessage());
+        }
+    }
+    
+    private static List<String> getWarmUrls() {
+        List<String> urls = new ArrayList<>();
+        for (String url : ConfigReader.getInstance().getProfileTemplateWarmUrls().split(",")) {
+            if (!url.trim().isEmpty()) {
+                urls.add(url.trim());
+            }
+        }
+        if (urls.isEmpty()) {
+            urls.add(ConfigReader.getInstance().getBaseUrl());
+        }
+        return urls;
+    }
+    
+    private static Path getRoot() {
+        return Paths.get(ConfigReader.getInstance().getProfileTemplatePath());
+    }
+    
+    private static void delete(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    logger.debug("Could not delete " + path + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.debug("Could not delete " + dir + ": " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.automation.core;
+
+import com.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request-blocking profiles for browser sessions, selected with resource.blocking.profile.
+ * The media profile drops images, video, audio and web fonts; the lean profile also drops
+ * requests matching resource.blocking.patterns, such as ad and analytics domains. Images are
+ * blocked through browser preferences and everything else through the DevTools
+ * Network.setBlockedURLs command, so URL patterns only apply to Chromium browsers. DevTools
+ * commands reach the current window only, so {@link ResourceBlockingListener} blocks the URLs
+ * again in each window or tab the session switches to; requests a new window makes before the
+ * switch are not blocked.
+ */
+final class ResourceBlocking {
+    private static final Logger logger = LogManager.getLogger(ResourceBlocking.class);
+    private static final List<String> MEDIA_PATTERNS = Arrays.asList(
+            "*.mp4*", "*.webm*", "*.m3u8*", "*.mp3*", "*.ogg*",
+            "*.woff*", "*.woff2*", "*.ttf*", "*.otf*", "*.eot*");
+    
+    /**
+     * Blocking profile
+     */
+    enum Profile {
+        NONE,
+        MEDIA,
+        LEAN
+    }
+    
+    private ResourceBlocking() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Get the configured blocking profile
+     * @return Blocking profile
+     */
+    static Profile getProfile() {
+        return Profile.valueOf(ConfigReader.getInstance().getResourceBlockingProfile().trim().toUpperCase());
+    }
+    
+    /**
+     * Add the Chrome/Edge preferences of the configured profile
+     * @param prefs Chromium preferences to add to
+     */
+    static void addChromiumPrefs(Map<String, Object> prefs) {
+        if (getProfile() != Profile.NONE) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
+    }
+    
+    /**
+     * Add the Firefox preferences of the configured profile. Firefox has no URL blocking, so
+     * the lean profile's patterns are not applied.
+     * @param prefs Firefox preferences to add to
+     */
+    static void addFirefoxPrefs(Map<String, Object> prefs) {
+        if (getProfile() != Profile.NONE) {
+            prefs.put("permissions.default.image", 2);
+            prefs.put("browser.display.use_document_fonts", 0);
+            prefs.put("media.autoplay.default", 5);
+        }
+    }
+    
+    /**
+     * Check if the configured profile blocks URL patterns in a session
+     * @param driver Undecorated WebDriver instance
+     * @return true for Chromium sessions with a profile other than none
+     */
+    static boolean blocksUrls(WebDriver driver) {
+        return getProfile() != Profile.NONE && driver instanceof ChromiumDriver;
+    }
+    
+    /**
+     * Block the URL patterns of the configured profile for a new session
+     * @param driver WebDriver instance
+     */
+    static void blockUrls(WebDriver driver) {
+        if (!blocksUrls(driver)) {
+            return;
+        }
+        List<String> patterns = getPatterns();
+        if (apply((ChromiumDriver) driver, patterns)) {
+            logger.info("Blocking " + patterns.size() + " URL pattern(s) and images (" + getProfile().name().toLowerCase() + " profile)");
+        }
+    }
+    
+    /**
+     * Block the URL patterns of the configured profile in the current window of a session
+     * @param driver Undecorated WebDriver instance
+     */
+    static void blockUrlsInCurrentWindow(WebDriver driver) {
+        if (blocksUrls(driver)) {
+            apply((ChromiumDriver) driver, getPatterns());
+        }
+    }
+    
+    private static List<String> getPatterns() {
+        List<String> patterns = new ArrayList<>(MEDIA_PATTERNS);
+        if (getProfile() == Profile.LEAN) {
+            for (String pattern : ConfigReader.getInstance().getResourceBlockingPatterns().split(",")) {
+                if (!pattern.trim().isEmpty()) {
+                    patterns.add(pattern.trim());
+                }
+            }
+        }
+        return patterns;
+    }
+    
+    private static boolean apply(ChromiumDriver driver, List<String> patterns) {
+        try {
+            driver.executeCdpCommand("Network.enable", Collections.emptyMap());
+            driver.executeCdpCommand("Network.setBlockedURLs", Collections.singletonMap("urls", patterns));
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not block URLs through DevTools: " + e.getMessage());
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.automation.core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+
+/**
+ * Blocks the {@link ResourceBlocking} URL patterns again after the session switches to another
+ * window or tab, since the DevTools command that blocks them only reaches the current window.
+ */
+public class ResourceBlockingListener implements WebDriverListener {
+    private final WebDriver driver;
+    
+    /**
+     * Constructor
+     * @param driver Undecorated WebDriver the DevTools commands are sent through
+     */
+    ResourceBlockingListener(WebDriver driver) {
+        this.driver = driver;
+    }
+    
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (target instanceof WebDriver.TargetLocator
+                && ("window".equals(method.getName()) || "newWindow".equals(method.getName()))) {
+            ResourceBlocking.blockUrlsInCurrentWindow(driver);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,239 @@
+package com.automation.core;
+
+import com.automation.config.ConfigReader;
+import com.automation.fixtures.FixtureServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Authenticated browser state per (site, user): cookies plus localStorage and sessionStorage,
+ * captured after a successful UI login. Restoring it into a fresh or pooled driver skips the
+ * login flow. States expire after session.state.ttl.minutes and are dropped when the caller's
+ * validity probe fails after a restore. States are kept in memory only, so session cookies
+ * are never written to disk.
+ */
+public final class SessionStateCache {
+    private static final Logger logger = LogManager.getLogger(SessionStateCache.class);
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "function dump(storage) {" +
+            "  var items = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); items[key] = storage.getItem(key); }" +
+            "  return items;" +
+            "}" +
+            "return [dump(window.localStorage), dump(window.sessionStorage)];";
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "window.localStorage.clear(); window.sessionStorage.clear();" +
+            "for (var key in arguments[0]) window.localStorage.setItem(key, arguments[0][key]);" +
+            "for (var key in arguments[1]) window.sessionStorage.setItem(key, arguments[1][key]);";
+    private static SessionStateCache instance;
+    
+    private final long ttlMillis;
+    private final String restorePath;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final LongAdder captures = new LongAdder();
+    private final LongAdder restores = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder failedProbes = new LongAdder();
+    private final LongAdder restoreMillis = new LongAdder();
+    
+    /**
+     * Captured state of one site and user
+     */
+    private static final class State {
+        private final Set<Cookie> cookies;
+        private final Map<String, Object> localStorage;
+        private final Map<String, Object> sessionStorage;
+        private final long expiresAtMillis;
+        
+        private State(Set<Cookie> cookies, Map<String, Object> localStorage, Map<String, Object> sessionStorage, long expiresAtMillis) {
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+    
+    private SessionStateCache() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(config.getSessionStateTtlMinutes());
+        this.restorePath = config.getSessionStateRestorePath();
+    }
+    
+    /**
+     * Get singleton instance of SessionStateCache
+     * @return SessionStateCache instance
+     */
+    public static synchronized SessionStateCache getInstance() {
+        if (instance == null) {
+            instance = new SessionStateCache();
+        }
+        return instance;
+    }
+    
+    /**
+     * Check if any session state has been cached or requested in this JVM
+     * @return true if the cache exists
+     */
+    public static synchronized boolean isCreated() {
+        return instance != null;
+    }
+    
+    /**
+     * Check if session states are cached at all
+     * @return false if session.state.ttl.minutes is 0
+     */
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+    
+    /**
+     * Capture the state of a logged-in driver. Call on a page of the site after the login
+     * has been verified.
+     * @param driver WebDriver instance
+     * @param siteUrl Any URL of the site, only its origin is used
+     * @param user User the session belongs to
+     */
+    public void capture(WebDriver driver, String siteUrl, String user) {
+        if (!isEnabled()) {
+            return;
+        }
+        
+        Map<String, Object> localStorage = Collections.emptyMap();
+        Map<String, Object> sessionStorage = Collections.emptyMap();
+        try {
+            List<?> storage = (List<?>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+            localStorage = toMap(storage.get(0));
+            sessionStorage = toMap(storage.get(1));
+        } catch (Exception e) {
+            logger.warn("Could not read web storage, capturing cookies only: " + e.getMessage());
+        }
+        
+        Set<Cookie> cookies = driver.manage().getCookies();
+        states.put(key(siteUrl, user), new State(cookies, localStorage, sessionStorage, System.currentTimeMillis() + ttlMillis));
+        captures.increment();
+        logger.info("Captured session state for " + user + " on " + origin(siteUrl) + ": " + cookies.size()
+                + " cookie(s), " + localStorage.size() + " localStorage and " + sessionStorage.size() + " sessionStorage item(s)");
+    }
+    
+    /**
+     * Restore the captured state of a site and user into a driver, replacing its cookies and
+     * web storage for that site
+     * @param driver WebDriver instance, fresh or pooled
+     * @param siteUrl Any URL of the site, only its origin is used
+     * @param user User the session belongs to
+     * @param probe Check run after the restore, such as opening an account page; the state is
+     *              dropped if it returns false or throws
+     * @return true if the driver is now logged in, false if there was no usable state
+     */
+    public boolean restore(WebDriver driver, String siteUrl, String user, Predicate<WebDriver> probe) {
+        if (!isEnabled()) {
+            return false;
+        }
+        String key = key(siteUrl, user);
+        State state = states.get(key);
+        if (state == null || state.expiresAtMillis <= System.currentTimeMillis()) {
+            states.remove(key);
+            misses.increment();
+            return false;
+        }
+        
+        long start = System.currentTimeMillis();
+        try {
+            // Cookies can only be set for the current document's domain, so land on a light page first
+            driver.get(FixtureServer.localUrl(origin(siteUrl) + restorePath));
+        } catch (Exception e) {
+            logger.warn("Could not open " + origin(siteUrl) + restorePath + " to restore the session: " + e.getMessage());
+            misses.increment();
+            return false;
+        }
+        driver.manage().deleteAllCookies();
+        Date now = new Date();
+        int restored = 0;
+        for (Cookie cookie : state.cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                continue;
+            }
+            try {
+                driver.manage().addCookie(cookie);
+                restored++;
+            } catch (Exception e) {
+                logger.debug("Skipping cookie " + cookie.getName() + ": " + e.getMessage());
+            }
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, state.localStorage, state.sessionStorage);
+        } catch (Exception e) {
+            logger.warn("Could not restore web storage: " + e.getMessage());
+        }
+        
+        boolean valid;
+        try {
+            valid = probe.test(driver);
+        } catch (Exception e) {
+            logger.warn("Session probe failed: " + e.getMessage());
+            valid = false;
+        }
+        if (!valid) {
+            states.remove(key);
+            failedProbes.increment();
+            logger.warn("Restored session for " + user + " on " + origin(siteUrl) + " is no longer valid, dropping it");
+            return false;
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        restores.increment();
+        restoreMillis.add(elapsed);
+        logger.info("Restored session for " + user + " on " + origin(siteUrl) + " (" + restored + " cookie(s)) in " + elapsed + " ms");
+        return true;
+    }
+    
+    /**
+     * Drop the captured state of a site and user, for example after logging out
+     * @param siteUrl Any URL of the site
+     * @param user User the session belongs to
+     */
+    public void invalidate(String siteUrl, String user) {
+        states.remove(key(siteUrl, user));
+    }
+    
+    /**
+     * Get a one-line summary of captures, restores and the logins they replaced
+     * @return Session state statistics
+     */
+    public String getStats() {
+        long count = restores.sum();
+        return String.format("Session state: %d capture(s), %d restore(s) averaging %d ms, %d miss(es), %d failed probe(s)",
+                captures.sum(), count, count > 0 ? restoreMillis.sum() / count : 0, misses.sum(), failedProbes.sum());
+    }
+    
+    private static String key(String siteUrl, String user) {
+        return origin(siteUrl) + "|" + user;
+    }
+    
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+    
+    private static Map<String, Object> toMap(Object storage) {
+        Map<String, Object> items = new HashMap<>();
+        if (storage instanceof Map) {
+            ((Map<?, ?>) storage).forEach((key, value) -> items.put(String.valueOf(key), value));
+        }
+        return items;
+    }
+}
\ No newline at end of file
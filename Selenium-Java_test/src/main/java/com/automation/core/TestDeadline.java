@@ -0,0 +1,195 @@
+package com.automation.core;
+
+import com.automation.config.ConfigReader;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock budget of the running test method, set with test.time.budget.seconds. Every wait
+ * and locator probe asks for {@link #timeout(Duration)}, which cuts its own timeout to the time
+ * left, so fallbacks cannot add up to minutes. Once the budget is spent the test fails with an
+ * AssertionError, which fallback code catching Exception does not swallow, listing the call
+ * sites the time went to.
+ */
+public final class TestDeadline {
+    private static final String BASE_PAGE = "BasePage";
+    private static final String CORE_PACKAGE = TestDeadline.class.getPackage().getName() + ".";
+    private static final String[] SUPPORT_PACKAGES = {CORE_PACKAGE, "com.automation.utils.", "com.automation.locators."};
+    private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ThreadLocal<Budget> current = new ThreadLocal<>();
+    
+    /**
+     * Budget of one test method
+     */
+    private static final class Budget {
+        private final String testName;
+        private final long budgetNanos;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, long[]> spent = new HashMap<>();
+        private int depth;
+        private String openSite;
+        private long openStartNanos;
+        
+        private Budget(String testName, long budgetNanos) {
+            this.testName = testName;
+            this.budgetNanos = budgetNanos;
+        }
+        
+        private long remainingNanos() {
+            return budgetNanos - (System.nanoTime() - startNanos);
+        }
+    }
+    
+    private TestDeadline() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Start the budget of a test method on the current thread. Does nothing when
+     * test.time.budget.seconds is 0.
+     * @param testName Test name used in the failure message
+     */
+    public static void start(String testName) {
+        int seconds = ConfigReader.getInstance().getTestTimeBudgetSeconds();
+        if (seconds > 0) {
+            current.set(new Budget(testName, TimeUnit.SECONDS.toNanos(seconds)));
+        } else {
+            current.remove();
+        }
+    }
+    
+    /**
+     * End the budget of the current thread's test method
+     * @return Breakdown of the time spent in waits and locator probes, or null without a budget
+     */
+    public static String end() {
+        Budget budget = current.get();
+        current.remove();
+        return budget != null ? breakdown(budget) : null;
+    }
+    
+    /**
+     * Get the timeout a wait may use: its own timeout, or less if the test's budget runs out first
+     * @param timeout Timeout of the wait
+     * @return Timeout to wait for
+     * @throws AssertionError if the budget is already spent
+     */
+    public static Duration timeout(Duration timeout) {
+        Budget budget = current.get();
+        if (budget == null) {
+            return timeout;
+        }
+        long remaining = budget.remainingNanos();
+        if (remaining <= 0) {
+            throw exhausted(budget, null);
+        }
+        return remaining < timeout.toNanos() ? Duration.ofNanos(remaining) : timeout;
+    }
+    
+    /**
+     * Fail the test if its budget is spent. For lookups that do not go through a timed wait.
+     * @throws AssertionError if the budget is already spent
+     */
+    public static void check() {
+        Budget budget = current.get();
+        if (budget != null && budget.remainingNanos() <= 0) {
+            throw exhausted(budget, null);
+        }
+    }
+    
+    /**
+     * Run a wait or locator probe and charge its time to the calling page or test. Nested calls
+     * are charged to the outermost one. A timeout that leaves the budget spent fails the test.
+     * @param what Short description, such as the condition or field name
+     * @param action Wait to run
+     * @return Result of the wait
+     */
+    public static <T> T track(String what, Supplier<T> action) {
+        Budget budget = current.get();
+        if (budget == null) {
+            return action.get();
+        }
+        
+        if (budget.depth++ == 0) {
+            budget.openSite = callSite() + " " + what;
+            budget.openStartNanos = System.nanoTime();
+        }
+        try {
+            return action.get();
+        } catch (TimeoutException e) {
+            if (budget.remainingNanos() <= 0) {
+                throw exhausted(budget, e);
+            }
+            throw e;
+        } finally {
+            if (--budget.depth == 0) {
+                long[] entry = budget.spent.computeIfAbsent(budget.openSite, k -> new long[2]);
+                entry[0]++;
+                entry[1] += System.nanoTime() - budget.openStartNanos;
+                budget.openSite = null;
+            }
+        }
+    }
+    
+    private static AssertionError exhausted(Budget budget, Throwable cause) {
+        AssertionError error = new AssertionError(String.format("Test time budget of %d s spent in %s (%.1f s elapsed); %s",
+                TimeUnit.NANOSECONDS.toSeconds(budget.budgetNanos), budget.testName,
+                (System.nanoTime() - budget.startNanos) / 1e9, breakdown(budget)));
+        if (cause != null) {
+            error.initCause(cause);
+        }
+        return error;
+    }
+    
+    private static String breakdown(Budget budget) {
+        Map<String, long[]> spent = new HashMap<>();
+        budget.spent.forEach((site, times) -> spent.put(site, times.clone()));
+        if (budget.openSite != null) {
+            // Charge the wait still running, usually the one that ran out of time
+            long[] entry = spent.computeIfAbsent(budget.openSite, k -> new long[2]);
+            entry[0]++;
+            entry[1] += System.nanoTime() - budget.openStartNanos;
+        }
+        
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(spent.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+        
+        long total = 0;
+        StringBuilder sites = new StringBuilder();
+        for (Map.Entry<String, long[]> entry : entries) {
+            total += entry.getValue()[1];
+            sites.append(sites.length() > 0 ? ", " : "")
+                    .append(String.format("%s %.1f s (%d)", entry.getKey(), entry.getValue()[1] / 1e9, entry.getValue()[0]));
+        }
+        return String.format("waits and locator probes took %.1f s%s", total / 1e9,
+                sites.length() > 0 ? ": " + sites : "");
+    }
+    
+    private static String callSite() {
+        return stackWalker.walk(frames -> frames
+                .filter(frame -> isCaller(frame.getDeclaringClass()))
+                .findFirst()
+                .map(frame -> frame.getDeclaringClass().getSimpleName() + "." + frame.getMethodName())
+                .orElse("(outside framework code)"));
+    }
+    
+    private static boolean isCaller(Class<?> declaringClass) {
+        String className = declaringClass.getName();
+        if (!className.startsWith("com.automation.") || BASE_PAGE.equals(declaringClass.getSimpleName())) {
+            return false;
+        }
+        for (String supportPackage : SUPPORT_PACKAGES) {
+            if (className.startsWith(supportPackage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
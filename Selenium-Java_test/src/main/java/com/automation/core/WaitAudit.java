@@ -0,0 +1,96 @@
+package com.automation.core;
+
+import com.automation.config.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Element lookups that found nothing while implicit waits were off, recorded by
+ * {@link WaitAuditListener}. A miss inside an explicit wait, such as a poll or a candidate
+ * probe, would have stalled for up to the implicit wait with implicit waits on, so these misses
+ * bound the time the mode saves. A miss anywhere else would also have waited and might have
+ * found the element, so it is a potential regression and its call site is reported as code that
+ * may rely on implicit waiting.
+ */
+public final class WaitAudit {
+    private static WaitAudit instance;
+    
+    private final Map<String, LongAdder> unguardedSites = new ConcurrentHashMap<>();
+    private final LongAdder unguardedMisses = new LongAdder();
+    private final LongAdder guardedMisses = new LongAdder();
+    
+    private WaitAudit() {
+        // Private constructor for singleton
+    }
+    
+    /**
+     * Get singleton instance of WaitAudit
+     * @return WaitAudit instance
+     */
+    public static synchronized WaitAudit getInstance() {
+        if (instance == null) {
+            instance = new WaitAudit();
+        }
+        return instance;
+    }
+    
+    /**
+     * Check whether any lookups have been audited in this JVM
+     * @return true if the audit exists
+     */
+    public static synchronized boolean isCreated() {
+        return instance != null;
+    }
+    
+    /**
+     * Record a lookup miss made while polling inside an explicit wait
+     */
+    void recordGuardedMiss() {
+        guardedMisses.increment();
+    }
+    
+    /**
+     * Record a lookup miss made outside any explicit wait
+     * @param site Call site, such as AmazonHomePage.isHomePageDisplayed:119
+     * @param locator Locator that found nothing
+     */
+    void recordUnguardedMiss(String site, String locator) {
+        unguardedMisses.increment();
+        unguardedSites.computeIfAbsent(site + " " + locator, k -> new LongAdder()).increment();
+    }
+    
+    /**
+     * Get a one-line summary of lookup misses inside and outside explicit waits, with the time
+     * saved on the misses inside them
+     * @return Wait audit statistics
+     */
+    public String getStats() {
+        int implicitWait = ConfigReader.getInstance().getImplicitWaitTime();
+        return String.format("Explicit-wait mode: %d miss(es) inside explicit waits, up to %d s saved "
+                        + "(%d s implicit wait each); %d unguarded lookup(s) found nothing at %d call site(s), "
+                        + "potential regressions that would have waited up to %d s each",
+                guardedMisses.sum(), guardedMisses.sum() * implicitWait, implicitWait,
+                unguardedMisses.sum(), unguardedSites.size(), implicitWait);
+    }
+
+    
+    /**
+     * Get the call sites that looked up elements without an explicit wait, most frequent first.
+     * These found nothing with implicit waits off and may have passed only because of them.
+     * @return One line per call site and locator with its miss count
+     */
+    public List<String> getUnguardedSites() {
+        List<Map.Entry<String, LongAdder>> entries = new ArrayList<>(unguardedSites.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()));
+        
+        List<String> sites = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : entries) {
+            sites.add(entry.getKey() + ": " + entry.getValue().sum() + " miss(es)");
+        }
+        return sites;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.automation.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Records findElement and findElements misses into {@link WaitAudit} when implicit waits are
+ * off. The call stack is only walked on a miss, to tell explicit-wait polls from bare lookups
+ * and to find the framework code that made the lookup.
+ */
+public class WaitAuditListener implements WebDriverListener {
+    private static final String BASE_PAGE = "BasePage";
+    private static final String CORE_PACKAGE = WaitAuditListener.class.getPackage().getName() + ".";
+    private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    
+    @Override
+    public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+        if (result.isEmpty()) {
+            recordMiss(locator);
+        }
+    }
+    
+    @Override
+    public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+        if (result.isEmpty()) {
+            recordMiss(locator);
+        }
+    }
+    
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if ("findElement".equals(method.getName()) && e.getCause() instanceof NoSuchElementException
+                && args != null && args.length > 0) {
+            recordMiss(args[0]);
+        }
+    }
+    
+    private static void recordMiss(Object locator) {
+        String site = stackWalker.walk(frames -> {
+            String caller = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> declaringClass = frame.getDeclaringClass();
+                if (declaringClass == FluentWait.class) {
+                    return null;
+                }
+                String className = declaringClass.getName();
+                if (caller == null && className.startsWith("com.automation.") && !className.startsWith(CORE_PACKAGE)
+                        && !BASE_PAGE.equals(declaringClass.getSimpleName())) {
+                    caller = declaringClass.getSimpleName() + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+                }
+            }
+            return caller != null ? caller : "(outside framework code)";
+        });
+        
+        if (site == null) {
+            WaitAudit.getInstance().recordGuardedMiss();
+        } else {
+            WaitAudit.getInstance().recordUnguardedMiss(site, String.valueOf(locator));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,297 @@
+package com.automation.fixtures;
+
+import com.automation.config.ConfigReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP server standing in for a live site. In record mode each request is forwarded to
+ * the site and the response is saved under fixture.path before it is served; in replay mode
+ * responses are served from fixture.path only, and requests that were never recorded get a
+ * 404. Each site gets its own server on a free local port under its own host name,
+ * &lt;site&gt;.localhost, so the browser keeps the sites' cookies apart as it would on the live
+ * sites (cookies ignore the port). Site URLs in served pages are rewritten to the local
+ * servers. Resources on hosts without a server still load from the network unless their
+ * origins are listed in fixture.origins.
+ */
+public final class FixtureServer {
+    private static final Logger logger = LogManager.getLogger(FixtureServer.class);
+    private static final List<String> FORWARDED_HEADERS = Arrays.asList(
+            "User-Agent", "Accept", "Accept-Language", "Cookie", "Referer", "Content-Type");
+    private static final Map<String, FixtureServer> servers = new ConcurrentHashMap<>();
+    private static FixtureStore store;
+    private static HttpClient client;
+    private static ExecutorService executor;
+    
+    private static final LongAdder replayed = new LongAdder();
+    private static final LongAdder recorded = new LongAdder();
+    private static final LongAdder missing = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    
+    private final String origin;
+    private final String host;
+    private final String authority;
+    private final boolean recording;
+    private final HttpServer server;
+    private final String localOrigin;
+    
+    private FixtureServer(String origin, boolean recording) throws IOException {
+        this.origin = origin;
+        this.host = URI.create(origin).getHost();
+        this.authority = URI.create(origin).getRawAuthority();
+        this.recording = recording;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        // Browsers resolve every *.localhost name to the loopback address
+        this.localOrigin = "http://" + host.replace('.', '-') + ".localhost:" + server.getAddress().getPort();
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+    
+    /**
+     * Get the URL to load instead of a site URL. When fixture.mode is off the URL is returned
+     * unchanged; otherwise the local server for the URL's origin is started on first use.
+     * @param url Site URL
+     * @return URL on the local fixture server, or the site URL when fixtures are off
+     */
+    public static String localUrl(String url) {
+        String mode = ConfigReader.getInstance().getFixtureMode().trim().toLowerCase();
+        if (!"record".equals(mode) && !"replay".equals(mode)) {
+            return url;
+        }
+        
+        URI uri = URI.create(url);
+        if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+            return url;
+        }
+        String origin = uri.getScheme() + "://" + uri.getRawAuthority();
+        FixtureServer server = servers.get(origin);
+        if (server == null) {
+            server = start("record".equals(mode), origin);
+        }
+        return server.localOrigin + url.substring(origin.length());
+    }
+    
+    /**
+     * Stop all fixture servers and log what they served
+     */
+    public static synchronized void stopAll() {
+        if (servers.isEmpty()) {
+            return;
+        }
+        for (FixtureServer server : servers.values()) {
+            server.server.stop(0);
+        }
+        servers.clear();
+        executor.shutdown();
+        logger.info(getStats());
+    }
+    
+    /**
+     * Get a one-line summary of fixture server statistics
+     * @return Fixture server statistics
+     */
+    public static String getStats() {
+        return String.format("Fixtures (%s): %d replayed, %d recorded, %d missing, %d failed",
+                ConfigReader.getInstance().getFixtureMode(), replayed.sum(), recorded.sum(), missing.sum(), failed.sum());
+    }
+    
+    /**
+     * Start the servers for the configured origins, plus the requested one, so pages can be
+     * rewritten to every local server from the first response on
+     * @param recording true to forward requests to the sites and record responses
+     * @param origin Origin requested
+     * @return Server for the requested origin
+     */
+    private static synchronized FixtureServer start(boolean recording, String origin) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (store == null) {
+            Set<String> ignoredParams = new HashSet<>();
+            for (String param : config.getFixtureIgnoredParams().split(",")) {
+                if (!param.trim().isEmpty()) {
+                    ignoredParams.add(param.trim());
+                }
+            }
+            store = new FixtureStore(new File(config.getFixturePath()), Collections.unmodifiableSet(ignoredParams));
+            client = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+        }
+        if (executor == null || executor.isShutdown()) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "fixture-server-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        
+        for (String configured : config.getFixtureOrigins().split(",")) {
+            startOrigin(configured.trim(), recording);
+        }
+        return startOrigin(origin, recording);
+    }
+    
+    private static FixtureServer startOrigin(String origin, boolean recording) {
+        if (origin.isEmpty() || servers.containsKey(origin)) {
+            return servers.get(origin);
+        }
+        try {
+            FixtureServer server = new FixtureServer(origin, recording);
+            servers.put(origin, server);
+            logger.info("Fixture server for " + origin + " (" + (recording ? "record" : "replay") + ") at " + server.localOrigin);
+            return server;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start fixture server for " + origin + ": " + e.getMessage());
+        }
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String pathAndQuery = exchange.getRequestURI().getRawPath()
+                + (exchange.getRequestURI().getRawQuery() != null ? "?" + exchange.getRequestURI().getRawQuery() : "");
+        String key = store.key(method, pathAndQuery);
+        
+        try {
+            if (recording) {
+                record(exchange, method, pathAndQuery, key);
+                return;
+            }
+            
+            FixtureStore.Fixture fixture = store.load(host, key);
+            if (fixture == null) {
+                missing.increment();
+                logger.warn("No fixture recorded for " + method + " " + origin + pathAndQuery);
+                send(exchange, new FixtureStore.Fixture(404, "text/plain; charset=utf-8", null,
+                        ("No fixture recorded for " + method + " " + origin + pathAndQuery).getBytes(StandardCharsets.UTF_8)));
+                return;
+            }
+            replayed.increment();
+            send(exchange, fixture);
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            logger.error("Fixture request " + method + " " + origin + pathAndQuery + " failed: " + e.getMessage());
+            if (exchange.getResponseCode() == -1) {
+                send(exchange, new FixtureStore.Fixture(502, "text/plain; charset=utf-8", null,
+                        String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8)));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Forward a request to the site, serve the response and record it. Cookies are passed
+     * through so sessions work while recording, but are not recorded.
+     */
+    private void record(HttpExchange exchange, String method, String pathAndQuery, String key) throws IOException {
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(origin + pathAndQuery))
+                .timeout(Duration.ofSeconds(ConfigReader.getInstance().getPageLoadTimeout()))
+                .method(method, requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        for (String header : FORWARDED_HEADERS) {
+            String value = exchange.getRequestHeaders().getFirst(header);
+            if (value != null) {
+                request.header(header, toSite(value));
+            }
+        }
+        
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + origin + pathAndQuery);
+        }
+        
+        FixtureStore.Fixture fixture = new FixtureStore.Fixture(response.statusCode(),
+                response.headers().firstValue("Content-Type").orElse(null),
+                response.headers().firstValue("Location").orElse(null),
+                response.body());
+        if (("GET".equals(method) || "HEAD".equals(method)) && fixture.status < 500) {
+            store.save(host, key, fixture);
+            recorded.increment();
+        }
+        
+        for (String cookie : response.headers().allValues("Set-Cookie")) {
+            // Drop attributes a plain-http localhost page would reject
+            exchange.getResponseHeaders().add("Set-Cookie", cookie.replaceAll("(?i);\\s*(domain=[^;]*|secure|samesite=none)", ""));
+        }
+        send(exchange, fixture);
+    }
+    
+    private static void send(HttpExchange exchange, FixtureStore.Fixture fixture) throws IOException {
+        byte[] body = fixture.body;
+        if (fixture.contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", fixture.contentType);
+            if (isText(fixture.contentType)) {
+                body = toLocal(new String(body, StandardCharsets.ISO_8859_1)).getBytes(StandardCharsets.ISO_8859_1);
+            }
+        }
+        if (fixture.location != null) {
+            exchange.getResponseHeaders().set("Location", toLocal(fixture.location));
+        }
+        
+        boolean noBody = "HEAD".equals(exchange.getRequestMethod()) || fixture.status == 204 || fixture.status == 304;
+        exchange.sendResponseHeaders(fixture.status, noBody || body.length == 0 ? -1 : body.length);
+        if (!noBody && body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    private static boolean isText(String contentType) {
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/") || type.contains("javascript") || type.contains("json") || type.contains("xml");
+    }
+    
+    /**
+     * Point site URLs in served content at the local servers. Bodies are handled as
+     * ISO-8859-1 so bytes outside ASCII pass through unchanged whatever the page encoding.
+     */
+    private static String toLocal(String content) {
+        for (FixtureServer server : servers.values()) {
+            String localAuthority = server.localOrigin.substring("http:".length());
+            content = content.replace(server.origin, server.localOrigin)
+                    .replace(server.origin.replace("/", "\\/"), server.localOrigin.replace("/", "\\/"))
+                    .replace("//" + server.authority, localAuthority);
+        }
+        return content;
+    }
+    
+    private static String toSite(String value) {
+        for (FixtureServer server : servers.values()) {
+            value = value.replace(server.localOrigin, server.origin);
+        }
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.automation.fixtures;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recorded responses on disk, one directory per host. Each response is a .body file with the
+ * raw bytes and a .properties file with the request key, status and headers, both named after
+ * a hash of the key. The .properties file is written last, so a fixture without one is ignored.
+ */
+final class FixtureStore {
+    private final File directory;
+    private final Set<String> ignoredParams;
+    private final Map<String, Fixture> loaded = new ConcurrentHashMap<>();
+    
+    /**
+     * Constructor
+     * @param directory Fixture directory
+     * @param ignoredParams Query parameters left out of request keys
+     */
+    FixtureStore(File directory, Set<String> ignoredParams) {
+        this.directory = directory;
+        this.ignoredParams = ignoredParams;
+    }
+    
+    /**
+     * Build the key a request is recorded under. Query parameters that change on every visit,
+     * such as tracking ids, are dropped so a replayed run finds the recorded response.
+     * @param method HTTP method
+     * @param pathAndQuery Raw path and query string
+     * @return Request key
+     */
+    String key(String method, String pathAndQuery) {
+        int queryStart = pathAndQuery.indexOf('?');
+        if (queryStart < 0 || ignoredParams.isEmpty()) {
+            return method + " " + pathAndQuery;
+        }
+        
+        StringBuilder key = new StringBuilder(method).append(' ').append(pathAndQuery, 0, queryStart);
+        char separator = '?';
+        for (String param : pathAndQuery.substring(queryStart + 1).split("&")) {
+            int equals = param.indexOf('=');
+            String name = equals < 0 ? param : param.substring(0, equals);
+            if (!param.isEmpty() && !ignoredParams.contains(name)) {
+                key.append(separator).append(param);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+    
+    /**
+     * Load a recorded response. Responses are kept in memory after the first read.
+     * @param host Host the response was recorded from
+     * @param key Request key
+     * @return Recorded response, or null if none was recorded
+     */
+    Fixture load(String host, String key) throws IOException {
+        String id = host + "/" + hash(key);
+        Fixture cached = loaded.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        
+        File meta = new File(directory, id + ".properties");
+        if (!meta.exists()) {
+            return null;
+        }
+        
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(meta)) {
+            properties.load(in);
+        }
+        Fixture fixture = new Fixture(
+                Integer.parseInt(properties.getProperty("status")),
+                properties.getProperty("content-type"),
+                properties.getProperty("location"),
+                Files.readAllBytes(new File(directory, id + ".body").toPath()));
+        loaded.put(id, fixture);
+        return fixture;
+    }
+    
+    /**
+     * Record a response, replacing any earlier recording of the same request
+     * @param host Host the response was recorded from
+     * @param key Request key
+     * @param fixture Response to record
+     */
+    void save(String host, String key, Fixture fixture) throws IOException {
+        String id = host + "/" + hash(key);
+        File body = new File(directory, id + ".body");
+        File meta = new File(directory, id + ".properties");
+        body.getParentFile().mkdirs();
+        
+        File tempBody = new File(body.getPath() + ".tmp");
+        Files.write(tempBody.toPath(), fixture.body);
+        Files.move(tempBody.toPath(), body.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        
+        Properties properties = new Properties();
+        properties.setProperty("key", key);
+        properties.setProperty("status", String.valueOf(fixture.status));
+        if (fixture.contentType != null) {
+            properties.setProperty("content-type", fixture.contentType);
+        }
+        if (fixture.location != null) {
+            properties.setProperty("location", fixture.location);
+        }
+        File tempMeta = new File(meta.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tempMeta)) {
+            properties.store(out, null);
+        }
+        Files.move(tempMeta.toPath(), meta.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        loaded.put(id, fixture);
+    }
+    
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * A response as recorded, before origin URLs are rewritten
+     */
+    static final class Fixture {
+        final int status;
+        final String contentType;
+        final String location;
+        final byte[] body;
+        
+        Fixture(int status, String contentType, String location, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.location = location;
+            this.body = body;
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.automation.framework.base;
 
+import com.automation.core.DeadlineWait;
+import com.automation.locators.LocatorCache;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
@@ -18,7 +20,7 @@ public class BasePage {
     
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        this.wait = new DeadlineWait(driver, Duration.ofSeconds(30));
     }
     
     /**
@@ -27,7 +29,8 @@ public class BasePage {
      * @return WebElement
      */
     protected WebElement findElementByXpath(String xpath) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
+        return LocatorCache.getInstance().findByXpath(driver, xpath,
+                locator -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)));
     }
     
     /**
@@ -86,4 +89,4 @@ public class BasePage {
         wait.until(driver -> ((JavascriptExecutor) driver)
                 .executeScript("return document.readyState").equals("complete"));
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
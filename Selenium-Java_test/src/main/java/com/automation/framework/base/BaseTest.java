@@ -1,7 +1,11 @@
 package com.automation.framework.base;
 
+import com.automation.core.DriverManager;
+import com.automation.fixtures.FixtureServer;
 import com.automation.framework.utils.ExcelDataProvider;
 import com.automation.framework.utils.ExtentReportManager;
+import com.automation.framework.utils.TestDataRepository;
+import com.automation.utils.SheetSnapshotCache;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -38,14 +42,14 @@ public class BaseTest {
     public void setUpTest(@Optional("chrome") String browser) {
         initializeDriver(browser);
         driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
+        driver.manage().timeouts().implicitlyWait(DriverManager.getImplicitWaitSeconds(), TimeUnit.SECONDS);
         
         // Get URL from config or use default
         String url = config != null ? config.getProperty("app.url") : null;
         if (url == null || url.isEmpty()) {
             url = "https://www.myntra.com/"; // Default URL
         }
-        driver.get(url);
+        driver.get(FixtureServer.localUrl(url));
     }
     
     @AfterMethod
@@ -58,6 +62,10 @@ public class BaseTest {
     @AfterSuite
     public void tearDownSuite() {
         ExtentReportManager.getInstance().flushReports();
+        System.out.println(TestDataRepository.getInstance().getLoadStats());
+        if (SheetSnapshotCache.getInstance().isEnabled()) {
+            System.out.println(SheetSnapshotCache.getInstance().getStats());
+        }
     }
     
     /**
@@ -1,20 +1,64 @@
 package com.automation.framework.listeners;
 
+import com.automation.core.DriverManager;
+import com.automation.core.SessionStateCache;
+import com.automation.core.TestDeadline;
+import com.automation.fixtures.FixtureServer;
 import com.automation.framework.utils.ExtentReportManager;
+import com.automation.jfr.FlightRecording;
+import com.automation.utils.LazyDataIterator;
+import com.automation.utils.ScreenshotPipeline;
 import com.aventstack.extentreports.Status;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.io.File;
 import java.util.Arrays;
 
 /**
- * TestNG listener to handle test execution events
+ * TestNG listener to handle suite and test execution events. Each test method runs under its
+ * own time budget, see {@link TestDeadline}.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ISuiteListener, ITestListener, IInvokedMethodListener {
+    private static final String SCREENSHOT_DIR = "test-output" + File.separator + "screenshots";
+    
+    @Override
+    public void onStart(ISuite suite) {
+        FlightRecording.start(suite.getName());
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        if (SessionStateCache.isCreated()) {
+            System.out.println(SessionStateCache.getInstance().getStats());
+        }
+        FlightRecording.stop();
+        FixtureServer.stopAll();
+        LazyDataIterator.closeAbandoned();
+    }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            TestDeadline.start(testResult.getMethod().getMethodName());
+        }
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            String breakdown = TestDeadline.end();
+            if (breakdown != null) {
+                System.out.println("Time budget of " + testResult.getName() + ": " + breakdown);
+            }
+        }
+    }
     
     @Override
     public void onStart(ITestContext context) {
@@ -61,8 +105,9 @@ public class TestListener implements ITestListener {
                 WebDriver driver = (WebDriver) driverField.get(testInstance);
                 
                 if (driver != null) {
-                    String base64Screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
-                    ExtentReportManager.getInstance().getTest().addScreenCaptureFromBase64String(base64Screenshot);
+                    // Link the screenshot file (next to the reports directory) instead of inlining it
+                    File screenshot = ScreenshotPipeline.getInstance().capture(driver, SCREENSHOT_DIR, result.getName());
+                    ExtentReportManager.getInstance().getTest().addScreenCaptureFromPath("../screenshots/" + screenshot.getName());
                 }
             } catch (Exception e) {
                 System.out.println("Could not take screenshot: " + e.getMessage());
@@ -71,6 +116,9 @@ public class TestListener implements ITestListener {
         } catch (Exception e) {
             System.out.println("Failed to capture screenshot: " + e.getMessage());
         }
+        
+        // The session may be wedged or on an unknown page, never lease it again
+        DriverManager.poisonDriver();
     }
     
     @Override
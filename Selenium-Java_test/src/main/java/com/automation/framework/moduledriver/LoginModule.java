@@ -1,5 +1,7 @@
 package com.automation.framework.moduledriver;
 
+import com.automation.core.SessionStateCache;
+import com.automation.fixtures.FixtureServer;
 import com.automation.framework.base.BasePage;
 import com.automation.framework.utils.ExcelDataProvider;
 import com.automation.framework.utils.ExtentReportManager;
@@ -14,6 +16,7 @@ import org.testng.Assert;
  */
 public class LoginModule extends BasePage {
     
+    private static final String DEFAULT_LOGIN_URL = "https://www.myntra.com/login";
     private ExcelDataProvider excelData;
     private final String PAGE_NAME = "LoginPage";
     
@@ -31,20 +34,64 @@ public class LoginModule extends BasePage {
      */
     public void navigateToLoginPage() {
         try {
-            String loginUrl = excelData.getTestData("LoginTest", "LoginURL");
-            if (loginUrl != null && !loginUrl.isEmpty()) {
-                driver.get(loginUrl);
-                waitForPageLoad();
-            } else {
-                // Default to Myntra login page if URL not found
-                driver.get("https://www.myntra.com/login");
-                waitForPageLoad();
-            }
+            driver.get(FixtureServer.localUrl(getLoginUrl()));
         } catch (Exception e) {
             System.out.println("Error navigating to login page: " + e.getMessage());
             // Default to Myntra login page on error
-            driver.get("https://www.myntra.com/login");
+            driver.get(FixtureServer.localUrl(DEFAULT_LOGIN_URL));
+        }
+        waitForPageLoad();
+    }
+    
+    /**
+     * Log in, restoring the user's cached session when there is a valid one and going through
+     * the login page otherwise. A successful UI login is cached for later tests.
+     * @param username Username
+     * @param password Password
+     */
+    public void login(String username, String password) {
+        if (restoreSession(username)) {
+            return;
+        }
+        navigateToLoginPage();
+        enterUsername(username);
+        enterPassword(password);
+        clickLoginButton();
+        saveSession(username);
+    }
+    
+    /**
+     * Log in as the valid user of the test data, see {@link #login(String, String)}. For tests
+     * that need a logged-in user but do not test the login itself.
+     */
+    public void loginAsValidUser() {
+        login(excelData.getTestData("LoginTest", "ValidUsername"), excelData.getTestData("LoginTest", "ValidPassword"));
+    }
+    
+    /**
+     * Restore the user's cached session, checking it by opening the login page, which a
+     * logged-in user is sent away from
+     * @param username Username
+     * @return true if the driver is now logged in
+     */
+    public boolean restoreSession(String username) {
+        String loginUrl = getLoginUrl();
+        return SessionStateCache.getInstance().restore(driver, loginUrl, username, d -> {
+            d.get(FixtureServer.localUrl(loginUrl));
             waitForPageLoad();
+            return isLoggedIn();
+        });
+    }
+    
+    /**
+     * Cache the session of the logged-in user so later tests can skip the login page
+     * @param username Username
+     */
+    public void saveSession(String username) {
+        if (isLoggedIn()) {
+            SessionStateCache.getInstance().capture(driver, getLoginUrl(), username);
+        } else {
+            System.out.println("Not logged in, session of " + username + " not cached");
         }
     }
     
@@ -137,6 +184,39 @@ public class LoginModule extends BasePage {
         }
     }
     
+    /**
+     * Check if the driver is logged in: it has left the login page and shows the dashboard title
+     * @return true if logged in
+     */
+    private boolean isLoggedIn() {
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl == null || currentUrl.contains("/login")) {
+            return false;
+        }
+        String expectedTitle = excelData.getTestData("LoginTest", "DashboardTitle");
+        String actualTitle = driver.getTitle();
+        return expectedTitle != null && !expectedTitle.isEmpty()
+                ? expectedTitle.equals(actualTitle)
+                : actualTitle.contains("Myntra");
+    }
+    
+    /**
+     * Get login page URL from test data, defaulting to the Myntra login page
+     * @return Login page URL
+     */
+    private String getLoginUrl() {
+        try {
+            String loginUrl = excelData.getTestData("LoginTest", "LoginURL");
+            if (loginUrl != null && !loginUrl.isEmpty()) {
+                return loginUrl;
+            }
+        } catch (Exception e) {
+            System.out.println("Error reading login URL: " + e.getMessage());
+        }
+        // Default to Myntra login page if URL not found
+        return DEFAULT_LOGIN_URL;
+    }
+    
     /**
      * Safely log to ExtentReport, handling null ExtentTest
      * @param status the log status
@@ -1,5 +1,7 @@
 package com.automation.framework.moduledriver;
 
+import com.automation.core.DeadlineWait;
+import com.automation.fixtures.FixtureServer;
 import com.automation.framework.base.BasePage;
 import com.automation.framework.utils.ExcelDataProvider;
 import com.automation.framework.utils.ExtentReportManager;
@@ -7,6 +9,8 @@ import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
@@ -18,6 +22,11 @@ import java.time.Duration;
  * Module driver for Myntra product selection and cart operations
  */
 public class MyntraModule extends BasePage {
+    private static final int ADD_TO_BAG_TIMEOUT_SECONDS = 10;
+    // Bag count badge and add-to-bag button label, which becomes "GO TO BAG" after adding
+    private static final String BAG_STATE_SCRIPT =
+            "var badge = document.querySelector(\"[class*='desktop-badge']\");" +
+            "return (badge ? badge.innerText : '') + '|' + (arguments[0].innerText || '');";
     
     private ExcelDataProvider excelData;
     private final String PAGE_NAME = "MyntraPage";
@@ -31,7 +40,7 @@ public class MyntraModule extends BasePage {
     public MyntraModule(WebDriver driver, ExcelDataProvider excelData) {
         super(driver);
         this.excelData = excelData;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        this.wait = new DeadlineWait(driver, Duration.ofSeconds(30));
     }
     
     /**
@@ -39,7 +48,7 @@ public class MyntraModule extends BasePage {
      * @return this instance for method chaining
      */
     public MyntraModule navigateToMyntra() {
-        driver.get("https://www.myntra.com/");
+        driver.get(FixtureServer.localUrl("https://www.myntra.com/"));
         waitForPageLoad();
         
         safeLog(Status.INFO, "Navigated to Myntra homepage");
@@ -130,21 +139,30 @@ public class MyntraModule extends BasePage {
             wait.until(ExpectedConditions.elementToBeClickable(addToCartButton));
             
             // Scroll to element with more spacing to avoid overlapping elements
-            ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'center'});", addToCartButton);
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("arguments[0].scrollIntoView({block: 'center'});", addToCartButton);
             
-            // Add a small wait to ensure the page settles after scrolling
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // Content loaded by the scroll can shift or cover the button, so check it again
+            wait.until(ExpectedConditions.elementToBeClickable(addToCartButton));
+            String bagState = String.valueOf(js.executeScript(BAG_STATE_SCRIPT, addToCartButton));
             
             // Use JavaScript click which bypasses element interception
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", addToCartButton);
+            js.executeScript("arguments[0].click();", addToCartButton);
             
-            waitForPageLoad();
-            
-            safeLog(Status.INFO, "Added product to cart");
+            // The bag count or the button label changes once the product is in the bag
+            try {
+                new DeadlineWait(driver, Duration.ofSeconds(ADD_TO_BAG_TIMEOUT_SECONDS)).until(d -> {
+                    try {
+                        return !bagState.equals(String.valueOf(js.executeScript(BAG_STATE_SCRIPT, addToCartButton)));
+                    } catch (StaleElementReferenceException e) {
+                        // The button was re-rendered by the update
+                        return true;
+                    }
+                });
+                safeLog(Status.INFO, "Added product to cart");
+            } catch (TimeoutException e) {
+                safeLog(Status.WARNING, "Bag did not change within " + ADD_TO_BAG_TIMEOUT_SECONDS + " s of clicking add to cart");
+            }
         } catch (Exception e) {
             safeLog(Status.FAIL, "Failed to add product to cart: " + e.getMessage());
             e.printStackTrace();
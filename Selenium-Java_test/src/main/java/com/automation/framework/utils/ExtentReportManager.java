@@ -1,5 +1,6 @@
 package com.automation.framework.utils;
 
+import com.automation.utils.ScreenshotPipeline;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
@@ -108,6 +109,10 @@ public class ExtentReportManager {
      */
     public void flushReports() {
         if (extent != null) {
+            if (ScreenshotPipeline.isCreated()) {
+                ScreenshotPipeline.getInstance().awaitPending(30000);
+                System.out.println(ScreenshotPipeline.getInstance().getStats());
+            }
             extent.flush();
         }
     }
@@ -0,0 +1,468 @@
+package com.automation.framework.utils;
+
+import com.automation.config.ConfigReader;
+import com.automation.jfr.DataLoadEvent;
+import com.automation.utils.SheetSnapshotCache;
+import com.automation.utils.StreamingExcelReader;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide, read-only store of the test data in TestData.xlsx and the XPaths in
+ * XPathRepo.xlsx. Each workbook is parsed once per JVM on first use and the resulting
+ * immutable maps are shared by all modules and test threads. reload() re-reads both files
+ * and swaps the new maps in, so readers always see one complete version or the other.
+ */
+public final class TestDataRepository {
+    private static final String TEST_DATA_PATH = "src/test/resources/testdata/TestData.xlsx";
+    private static final String XPATH_DATA_PATH = "src/test/resources/testdata/XPathRepo.xlsx";
+    private static TestDataRepository instance;
+    
+    private final boolean streaming = "streaming".equalsIgnoreCase(ConfigReader.getInstance().getExcelReaderMode());
+    
+    private volatile Map<String, Map<String, String>> testData;
+    private volatile Map<String, Map<String, String>> xpaths;
+    
+    private volatile long testDataLoadMillis;
+    private volatile long xpathLoadMillis;
+    private volatile int loadCount;
+    
+    private TestDataRepository() {
+        // Workbooks are loaded lazily on first access
+    }
+    
+    /**
+     * Get singleton instance of TestDataRepository
+     * @return TestDataRepository instance
+     */
+    public static synchronized TestDataRepository getInstance() {
+        if (instance == null) {
+            instance = new TestDataRepository();
+        }
+        return instance;
+    }
+    
+    /**
+     * Get all fields of a test case
+     * @param testCase test case ID
+     * @return read-only map of field name to value, or null if the test case does not exist
+     */
+    public Map<String, String> getTestCase(String testCase) {
+        return testData().get(testCase);
+    }
+    
+    /**
+     * Get all XPaths of a page
+     * @param page page (sheet) name
+     * @return read-only map of element name to xpath, or null if the page does not exist
+     */
+    public Map<String, String> getPageXPaths(String page) {
+        return xpaths().get(page);
+    }
+    
+    /**
+     * Re-read both workbooks and replace the current data
+     */
+    public synchronized void reload() {
+        Map<String, Map<String, String>> newTestData = loadTestData();
+        Map<String, Map<String, String>> newXPaths = loadXPathData();
+        testData = newTestData;
+        xpaths = newXPaths;
+    }
+    
+    /**
+     * Get time spent loading TestData.xlsx the last time it was loaded
+     * @return Load time in milliseconds, 0 if not loaded yet
+     */
+    public long getTestDataLoadMillis() {
+        return testDataLoadMillis;
+    }
+    
+    /**
+     * Get time spent loading XPathRepo.xlsx the last time it was loaded
+     * @return Load time in milliseconds, 0 if not loaded yet
+     */
+    public long getXPathLoadMillis() {
+        return xpathLoadMillis;
+    }
+    
+    /**
+     * Get number of workbook loads since startup, including reloads
+     * @return Load count
+     */
+    public int getLoadCount() {
+        return loadCount;
+    }
+    
+    /**
+     * Get a one-line summary of what was loaded and how long it took
+     * @return Load statistics
+     */
+    public String getLoadStats() {
+        Map<String, Map<String, String>> currentTestData = testData;
+        Map<String, Map<String, String>> currentXPaths = xpaths;
+        int xpathCount = 0;
+        if (currentXPaths != null) {
+            for (Map<String, String> page : currentXPaths.values()) {
+                xpathCount += page.size();
+            }
+        }
+        return String.format("Test data: %s, XPaths: %s, workbook loads: %d, reader: %s",
+                currentTestData == null ? "not loaded" : currentTestData.size() + " test case(s) in " + testDataLoadMillis + " ms",
+                currentXPaths == null ? "not loaded" : xpathCount + " xpath(s) on " + currentXPaths.size() + " page(s) in " + xpathLoadMillis + " ms",
+                loadCount, streaming ? "streaming" : "dom");
+    }
+    
+    private Map<String, Map<String, String>> testData() {
+        Map<String, Map<String, String>> current = testData;
+        if (current == null) {
+            synchronized (this) {
+                if (testData == null) {
+                    testData = loadTestData();
+                }
+                current = testData;
+            }
+        }
+        return current;
+    }
+    
+    private Map<String, Map<String, String>> xpaths() {
+        Map<String, Map<String, String>> current = xpaths;
+        if (current == null) {
+            synchronized (this) {
+                if (xpaths == null) {
+                    xpaths = loadXPathData();
+                }
+                current = xpaths;
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Load all test data from Excel file
+     * @return read-only map of test case ID to its fields
+     */
+    private Map<String, Map<String, String>> loadTestData() {
+        DataLoadEvent event = new DataLoadEvent();
+        event.begin();
+        long start = System.currentTimeMillis();
+        Map<String, Map<String, String>> data = new HashMap<>();
+        
+        File file = new File(TEST_DATA_PATH);
+        if (!file.exists()) {
+            System.out.println("WARNING: TestData.xlsx not found at " + TEST_DATA_PATH);
+            System.out.println("Please create the Excel file as per README_TestData.md");
+        } else if (streaming && StreamingExcelReader.isSupported(TEST_DATA_PATH)) {
+            streamTestData(data);
+        } else {
+            readTestData(data);
+        }
+        
+        testDataLoadMillis = System.currentTimeMillis() - start;
+        loadCount++;
+        System.out.println("Loaded " + data.size() + " test case(s) from " + TEST_DATA_PATH + " in " + testDataLoadMillis + " ms");
+        commitLoad(event, TEST_DATA_PATH, "TestData", data.size());
+        return freeze(data);
+    }
+    
+    /**
+     * Load all XPath data from Excel file
+     * @return read-only map of page name to its element XPaths
+     */
+    private Map<String, Map<String, String>> loadXPathData() {
+        DataLoadEvent event = new DataLoadEvent();
+        event.begin();
+        long start = System.currentTimeMillis();
+        Map<String, Map<String, String>> data = new HashMap<>();
+        
+        File file = new File(XPATH_DATA_PATH);
+        if (!file.exists()) {
+            System.out.println("WARNING: XPathRepo.xlsx not found at " + XPATH_DATA_PATH);
+            System.out.println("Please create the Excel file as per README_XPathRepo.md");
+        } else if (streaming && StreamingExcelReader.isSupported(XPATH_DATA_PATH)) {
+            streamXPathData(data);
+        } else {
+            readXPathData(data);
+        }
+        
+        xpathLoadMillis = System.currentTimeMillis() - start;
+        loadCount++;
+        System.out.println("Loaded XPaths for " + data.size() + " page(s) from " + XPATH_DATA_PATH + " in " + xpathLoadMillis + " ms");
+        commitLoad(event, XPATH_DATA_PATH, "", data.values().stream().mapToInt(Map::size).sum());
+        return freeze(data);
+    }
+    
+    /**
+     * Commit a data load event, if JFR is recording it
+     * @param event event begun before the load
+     * @param filePath workbook path
+     * @param sheetName sheet name, or empty when every sheet was read
+     * @param rowsRead number of data rows loaded
+     */
+    private void commitLoad(DataLoadEvent event, String filePath, String sheetName, int rowsRead) {
+        if (event.shouldCommit()) {
+            event.filePath = filePath;
+            event.sheetName = sheetName;
+            event.reader = !streaming ? "dom" : SheetSnapshotCache.getInstance().isEnabled() ? "snapshot" : "streaming";
+            event.rowsRead = rowsRead;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Read test data by loading the workbook
+     * @param data map to fill with test case ID to fields
+     */
+    private void readTestData(Map<String, Map<String, String>> data) {
+        try (FileInputStream fis = new FileInputStream(TEST_DATA_PATH);
+             Workbook workbook = new XSSFWorkbook(fis)) {
+            
+            Sheet sheet = workbook.getSheet("TestData");
+            if (sheet == null) return;
+            
+            // Get header row
+            Row headerRow = sheet.getRow(0);
+            if (headerRow == null) return;
+            
+            // Process data rows
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                Row row = sheet.getRow(i);
+                if (row == null) continue;
+                
+                String testCaseId = getCellValueAsString(row.getCell(0));
+                if (testCaseId == null || testCaseId.isEmpty()) continue;
+                
+                Map<String, String> testCaseData = new HashMap<>();
+                for (int j = 1; j < headerRow.getLastCellNum(); j++) {
+                    String header = getCellValueAsString(headerRow.getCell(j));
+                    if (header == null || header.isEmpty()) continue;
+                    
+                    String value = getCellValueAsString(row.getCell(j));
+                    testCaseData.put(header, value);
+                }
+                data.put(testCaseId, testCaseData);
+            }
+        
+        } catch (IOException e) {
+            System.out.println("Error loading TestData.xlsx: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Read XPath data by loading the workbook
+     * @param data map to fill with page name to element XPaths
+     */
+    private void readXPathData(Map<String, Map<String, String>> data) {
+        try (FileInputStream fis = new FileInputStream(XPATH_DATA_PATH);
+             Workbook workbook = new XSSFWorkbook(fis)) {
+            
+            for (int s = 0; s < workbook.getNumberOfSheets(); s++) {
+                Sheet sheet = workbook.getSheetAt(s);
+                String pageName = sheet.getSheetName();
+                
+                // Get header row
+                Row headerRow = sheet.getRow(0);
+                if (headerRow == null) continue;
+                
+                Map<String, String> pageXPaths = new HashMap<>();
+                
+                // Process data rows
+                for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                    Row row = sheet.getRow(i);
+                    if (row == null) continue;
+                    
+                    String elementName = getCellValueAsString(row.getCell(0));
+                    String xpath = getCellValueAsString(row.getCell(1));
+                    
+                    if (elementName != null && !elementName.isEmpty() &&
+                        xpath != null && !xpath.isEmpty()) {
+                        pageXPaths.put(elementName, xpath);
+                    }
+                }
+                
+                data.put(pageName, pageXPaths);
+            }
+        
+        } catch (IOException e) {
+            System.out.println("Error loading XPathRepo.xlsx: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Stream test data row by row instead of loading the workbook, or read it from the
+     * workbook's binary snapshot when snapshots are enabled
+     * @param data map to fill with test case ID to fields
+     */
+    private void streamTestData(Map<String, Map<String, String>> data) {
+        try {
+            SheetSnapshotCache snapshots = SheetSnapshotCache.getInstance();
+            if (snapshots.isEnabled()) {
+                List<StreamingExcelReader.SheetRow> rows = snapshots
+                        .load(TEST_DATA_PATH, StreamingExcelReader.ValueStyle.CACHED_VALUE).getRows("TestData");
+                if (rows != null) {
+                    fillTestData(rows.iterator(), data);
+                }
+                return;
+            }
+            
+            try (StreamingExcelReader reader = StreamingExcelReader.open(TEST_DATA_PATH, StreamingExcelReader.ValueStyle.CACHED_VALUE);
+                 StreamingExcelReader.RowIterator rows = reader.rows("TestData")) {
+                if (rows != null) {
+                    fillTestData(rows, data);
+                }
+            }
+        
+        } catch (RuntimeException e) {
+            System.out.println("Error streaming TestData.xlsx: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Stream XPath data sheet by sheet instead of loading the workbook, or read it from the
+     * workbook's binary snapshot when snapshots are enabled
+     * @param data map to fill with page name to element XPaths
+     */
+    private void streamXPathData(Map<String, Map<String, String>> data) {
+        try {
+            SheetSnapshotCache snapshots = SheetSnapshotCache.getInstance();
+            if (snapshots.isEnabled()) {
+                SheetSnapshotCache.WorkbookSnapshot workbook = snapshots
+                        .load(XPATH_DATA_PATH, StreamingExcelReader.ValueStyle.CACHED_VALUE);
+                for (String pageName : workbook.getSheetNames()) {
+                    fillPageXPaths(workbook.getRows(pageName).iterator(), pageName, data);
+                }
+                return;
+            }
+            
+            try (StreamingExcelReader reader = StreamingExcelReader.open(XPATH_DATA_PATH, StreamingExcelReader.ValueStyle.CACHED_VALUE)) {
+                for (String pageName : reader.getSheetNames()) {
+                    try (StreamingExcelReader.RowIterator rows = reader.rows(pageName)) {
+                        fillPageXPaths(rows, pageName, data);
+                    }
+                }
+            }
+        
+        } catch (RuntimeException e) {
+            System.out.println("Error streaming XPathRepo.xlsx: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Collect test cases from the rows of the TestData sheet
+     * @param rows rows present in the sheet
+     * @param data map to fill with test case ID to fields
+     */
+    private static void fillTestData(Iterator<StreamingExcelReader.SheetRow> rows, Map<String, Map<String, String>> data) {
+        if (!rows.hasNext()) return;
+        
+        // Get header row
+        StreamingExcelReader.SheetRow headerRow = rows.next();
+        if (headerRow.getRowNum() != 0) return;
+        
+        // Process data rows
+        while (rows.hasNext()) {
+            StreamingExcelReader.SheetRow row = rows.next();
+            
+            String testCaseId = row.getCellValue(0);
+            if (testCaseId.isEmpty()) continue;
+            
+            Map<String, String> testCaseData = new HashMap<>();
+            for (int j = 1; j < headerRow.getLastCellNum(); j++) {
+                String header = headerRow.getCellValue(j);
+                if (header.isEmpty()) continue;
+                
+                testCaseData.put(header, row.getCellValue(j));
+            }
+            data.put(testCaseId, testCaseData);
+        }
+    }
+    
+    /**
+     * Collect element XPaths from the rows of one page sheet
+     * @param rows rows present in the sheet
+     * @param pageName page (sheet) name
+     * @param data map to fill with page name to element XPaths
+     */
+    private static void fillPageXPaths(Iterator<StreamingExcelReader.SheetRow> rows, String pageName,
+                                       Map<String, Map<String, String>> data) {
+        // Get header row
+        if (!rows.hasNext() || rows.next().getRowNum() != 0) return;
+        
+        Map<String, String> pageXPaths = new HashMap<>();
+        
+        // Process data rows
+        while (rows.hasNext()) {
+            StreamingExcelReader.SheetRow row = rows.next();
+            
+            String elementName = row.getCellValue(0);
+            String xpath = row.getCellValue(1);
+            
+            if (!elementName.isEmpty() && !xpath.isEmpty()) {
+                pageXPaths.put(elementName, xpath);
+            }
+        }
+        
+        data.put(pageName, pageXPaths);
+    }
+    
+    /**
+     * Wrap loaded data so that it cannot be modified once published
+     * @param data loaded data
+     * @return read-only copy
+     */
+    private static Map<String, Map<String, String>> freeze(Map<String, Map<String, String>> data) {
+        Map<String, Map<String, String>> frozen = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : data.entrySet()) {
+            frozen.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(frozen);
+    }
+    
+    /**
+     * Get cell value as string regardless of cell type
+     * @param cell Excel cell
+     * @return string value
+     */
+    private static String getCellValueAsString(Cell cell) {
+        if (cell == null) return "";
+        
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue();
+            case NUMERIC:
+                double numValue = cell.getNumericCellValue();
+                // Check if it's an integer
+                if (numValue == Math.floor(numValue)) {
+                    return String.format("%.0f", numValue);
+                }
+                return String.valueOf(numValue);
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            case FORMULA:
+                try {
+                    return cell.getStringCellValue();
+                } catch (Exception e) {
+                    try {
+                        return String.valueOf(cell.getNumericCellValue());
+                    } catch (Exception ex) {
+                        return "";
+                    }
+                }
+            default:
+                return "";
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for loading test data from an Excel workbook
+ */
+@Name("com.automation.DataLoad")
+@Label("Test Data Load")
+@Category({"Automation Framework", "Test Data"})
+@Description("Load of test data rows from an Excel workbook")
+public final class DataLoadEvent extends jdk.jfr.Event {
+    @Label("File")
+    public String filePath;
+    
+    @Label("Sheet")
+    @Description("Sheet name, or empty when every sheet was read")
+    public String sheetName;
+    
+    @Label("Reader")
+    @Description("dom, streaming or snapshot")
+    public String reader;
+    
+    @Label("Rows Read")
+    public int rowsRead;
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for starting or quitting a WebDriver session in {@code DriverManager}
+ */
+@Name("com.automation.DriverLifecycle")
+@Label("Driver Lifecycle")
+@Category({"Automation Framework", "Drivers"})
+@Description("WebDriver session initialized or quit")
+public final class DriverLifecycleEvent extends jdk.jfr.Event {
+    @Label("Action")
+    @Description("initialize or quit")
+    public String action;
+    
+    @Label("Browser")
+    public String browser;
+    
+    @Label("Headless")
+    public boolean headless;
+    
+    @Label("Pooled")
+    @Description("Whether the session was leased from or returned to the driver pool")
+    public boolean pooled;
+}
\ No newline at end of file
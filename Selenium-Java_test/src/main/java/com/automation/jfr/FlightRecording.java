@@ -0,0 +1,78 @@
+package com.automation.jfr;
+
+import com.automation.config.ConfigReader;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Records a Java Flight Recorder file for each suite when jfr.recording.enabled is set. The
+ * recording uses the configured JFR settings plus the framework's own events.
+ */
+public final class FlightRecording {
+    private static final Logger logger = LogManager.getLogger(FlightRecording.class);
+    private static Recording recording;
+    
+    private FlightRecording() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Start recording a suite. Does nothing when recording is disabled or already running.
+     * @param suiteName Suite name, used in the recording file name
+     */
+    public static synchronized void start(String suiteName) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (recording != null || !config.isJfrRecordingEnabled()) {
+            return;
+        }
+        
+        try {
+            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+            Path directory = Files.createDirectories(Paths.get(config.getJfrRecordingPath()));
+            Path file = directory.resolve(suiteName.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + timestamp + ".jfr");
+            
+            recording = new Recording(Configuration.getConfiguration(config.getJfrSettings()));
+            recording.setName("Suite " + suiteName);
+            recording.setDestination(file);
+            recording.enable(LocatorResolutionEvent.class);
+            recording.enable(WaitEvent.class);
+            recording.enable(DataLoadEvent.class);
+            recording.enable(DriverLifecycleEvent.class);
+            recording.enable(ReportFlushEvent.class);
+            recording.start();
+            logger.info("Flight recording started: " + file);
+        } catch (IOException | ParseException | RuntimeException e) {
+            logger.warn("Could not start flight recording: " + e.getMessage());
+            recording = null;
+        }
+    }
+    
+    /**
+     * Stop the suite recording and write it to its file
+     */
+    public static synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        
+        try {
+            recording.stop();
+            logger.info("Flight recording written to: " + recording.getDestination());
+        } catch (RuntimeException e) {
+            logger.warn("Could not write flight recording: " + e.getMessage());
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
\ No newline at end of file
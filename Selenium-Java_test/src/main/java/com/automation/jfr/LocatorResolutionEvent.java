@@ -0,0 +1,32 @@
+package com.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for resolving a field name to an element in {@code DynamicLocatorFactory}
+ */
+@Name("com.automation.LocatorResolution")
+@Label("Locator Resolution")
+@Category({"Automation Framework", "Locators"})
+@Description("Resolution of a field or button name to a web element")
+public final class LocatorResolutionEvent extends jdk.jfr.Event {
+    @Label("Field Name")
+    public String fieldName;
+    
+    @Label("Resolution Mode")
+    public String mode;
+    
+    @Label("Candidates")
+    @Description("Number of candidate locators")
+    public int candidates;
+    
+    @Label("Strategy Index")
+    @Description("Index of the winning candidate locator, or -1 when no candidate matched")
+    public int strategyIndex = -1;
+    
+    @Label("Locator")
+    public String locator;
+}
\ No newline at end of file
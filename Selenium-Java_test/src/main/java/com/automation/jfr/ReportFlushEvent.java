@@ -0,0 +1,22 @@
+package com.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for flushing the Extent report in {@code ReportUtils}
+ */
+@Name("com.automation.ReportFlush")
+@Label("Report Flush")
+@Category({"Automation Framework", "Reporting"})
+@Description("Flush of the Extent report, including draining pending steps and screenshots")
+public final class ReportFlushEvent extends jdk.jfr.Event {
+    @Label("Pending Steps")
+    @Description("Report steps waiting for the asynchronous writer when the flush started")
+    public long pendingSteps;
+    
+    @Label("Asynchronous Writer")
+    public boolean asyncWriter;
+}
\ No newline at end of file
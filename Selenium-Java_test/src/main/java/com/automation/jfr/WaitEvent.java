@@ -0,0 +1,31 @@
+package com.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for an explicit wait in {@code WaitUtils}
+ */
+@Name("com.automation.Wait")
+@Label("Wait")
+@Category({"Automation Framework", "Waits"})
+@Description("Explicit wait for a page or element condition")
+public final class WaitEvent extends jdk.jfr.Event {
+    @Label("Condition")
+    public String condition;
+    
+    @Label("Wait Engine")
+    public String engine;
+    
+    @Label("Timeout Seconds")
+    public int timeoutSeconds;
+    
+    @Label("Timed Out")
+    public boolean timedOut;
+    
+    @Label("Budget Exhausted")
+    @Description("The wait was cut short because the test's time budget ran out")
+    public boolean budgetExhausted;
+}
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.automation.locators;
 
+import com.automation.config.ConfigReader;
+import com.automation.core.DeadlineWait;
+import com.automation.core.DriverManager;
+import com.automation.core.TestDeadline;
+import com.automation.jfr.LocatorResolutionEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -11,13 +18,77 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Factory class for creating dynamic locators based on field or button names
  */
 public class DynamicLocatorFactory {
     private static final Logger logger = LogManager.getLogger(DynamicLocatorFactory.class);
+    private static final int TIMEOUT_SECONDS = 5;
+    
+    /**
+     * Evaluates the ranked candidates in the page and returns the first visible, enabled match
+     * together with the index of the candidate that produced it, or null if nothing matched.
+     */
+    private static final String BATCH_RESOLVE_SCRIPT =
+            "var candidates = arguments[0];" +
+            "function isVisible(e) {" +
+            "  if (!e.isConnected) return false;" +
+            "  var style = window.getComputedStyle(e);" +
+            "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'" +
+            "      || parseFloat(style.opacity) === 0) return false;" +
+            "  var rects = e.getClientRects();" +
+            "  return rects.length > 0 && (rects[0].width > 0 || rects[0].height > 0);" +
+            "}" +
+            "function isEnabled(e) { return !e.disabled; }" +
+            "function query(c) {" +
+            "  if (c.using === 'xpath') {" +
+            "    var snapshot = document.evaluate(c.value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    var nodes = [];" +
+            "    for (var i = 0; i < snapshot.snapshotLength; i++) nodes.push(snapshot.snapshotItem(i));" +
+            "    return nodes;" +
+            "  }" +
+            "  return Array.prototype.slice.call(document.querySelectorAll(c.value));" +
+            "}" +
+            "for (var i = 0; i < candidates.length; i++) {" +
+            "  var nodes;" +
+            "  try { nodes = query(candidates[i]); } catch (err) { continue; }" +
+            "  for (var j = 0; j < nodes.length; j++) {" +
+            "    var node = nodes[j];" +
+            "    if (node.nodeType === 1 && isVisible(node) && isEnabled(node)) return [node, i];" +
+            "  }" +
+            "}" +
+            "return null;";
+    
+    /**
+     * Strategy used to resolve the candidate locators
+     */
+    public enum ResolutionMode {
+        /** Evaluate all candidates in the browser with a single script call per poll */
+        BATCHED,
+        /** Try candidates one after another over the wire */
+        SEQUENTIAL
+    }
+    
+    private final ResolutionMode mode;
+    
+    /**
+     * Constructor using the resolution mode from config
+     */
+    public DynamicLocatorFactory() {
+        this(ResolutionMode.valueOf(ConfigReader.getInstance().getLocatorResolutionMode().trim().toUpperCase()));
+    }
+    
+    /**
+     * Constructor
+     * @param mode Resolution mode
+     */
+    public DynamicLocatorFactory(ResolutionMode mode) {
+        this.mode = mode;
+    }
     
     /**
      * Find element by field or button name
@@ -26,20 +97,155 @@ public class DynamicLocatorFactory {
      * @return WebElement
      */
     public WebElement findElementByFieldName(WebDriver driver, String fieldName) {
+        return resolve(driver, fieldName).getElement();
+    }
+    
+    /**
+     * Resolve a field or button name to an element and the locator that found it
+     * @param driver WebDriver instance
+     * @param fieldName Field or button name
+     * @return Resolved element and winning locator
+     */
+    public ResolvedLocator resolve(WebDriver driver, String fieldName) {
         logger.info("Finding element by field name: " + fieldName);
+        LocatorResolutionEvent event = new LocatorResolutionEvent();
+        event.begin();
         
         List<By> locators = createLocatorsForFieldName(fieldName);
+        event.fieldName = fieldName;
+        event.candidates = locators.size();
+        
+        // Try the candidates that won most often on this page first
+        LocatorStats stats = LocatorStats.getInstance();
+        String statsKey = stats.isEnabled() ? LocatorStats.keyFor(driver.getCurrentUrl(), fieldName) : null;
+        int[] order = statsKey != null ? stats.rank(statsKey, locators.size()) : identityOrder(locators.size());
+        List<By> ranked = new ArrayList<>(locators.size());
+        for (int index : order) {
+            ranked.add(locators.get(index));
+        }
+        
+        ResolvedLocator match = null;
+        event.mode = mode.name().toLowerCase();
+        try {
+            match = TestDeadline.track("locator " + fieldName, () -> findElementRanked(driver, fieldName, ranked, event));
+        } finally {
+            if (match != null) {
+                event.strategyIndex = order[match.index];
+                event.locator = match.getLocator().toString();
+            }
+            event.commit();
+        }
+        
+        if (statsKey != null) {
+            stats.recordHit(statsKey, order[match.index]);
+        }
+        return match;
+    }
+    
+    /**
+     * Resolve ranked candidates with the configured mode, falling back to sequential lookups
+     * @param driver WebDriver instance
+     * @param fieldName Field or button name
+     * @param locators Ranked candidate locators
+     * @param event Resolution event to record the mode used in
+     * @return Matching element and the winning locator
+     */
+    private ResolvedLocator findElementRanked(WebDriver driver, String fieldName, List<By> locators,
+                                              LocatorResolutionEvent event) {
+        if (mode == ResolutionMode.BATCHED && driver instanceof JavascriptExecutor) {
+            try {
+                return findElementBatched(driver, fieldName, locators);
+            } catch (TimeoutException e) {
+                throw elementNotFound(fieldName, locators);
+            } catch (Exception e) {
+                logger.warn("Batched resolution failed for field name '" + fieldName + "', falling back to sequential: " + e.getMessage());
+            }
+        }
+        event.mode = ResolutionMode.SEQUENTIAL.name().toLowerCase();
+        return DriverManager.isExplicitWaitOnly()
+                ? findElementPolling(driver, fieldName, locators)
+                : findElementSequential(driver, fieldName, locators);
+    }
+    
+    /**
+     * Resolve all candidates in the browser, polling with one script call until a match appears
+     * @param driver WebDriver instance
+     * @param fieldName Field or button name
+     * @param locators Ranked candidate locators
+     * @return Matching element and the winning locator
+     * @throws TimeoutException if no candidate matched before the timeout
+     */
+    private ResolvedLocator findElementBatched(WebDriver driver, String fieldName, List<By> locators) {
+        List<Map<String, String>> candidates = new ArrayList<>();
+        for (By locator : locators) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            Map<String, String> candidate = new HashMap<>();
+            candidate.put("using", parameters.using());
+            candidate.put("value", String.valueOf(parameters.value()));
+            candidates.add(candidate);
+        }
+        
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        WebDriverWait wait = new DeadlineWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
+        List<?> result = wait.until(d -> (List<?>) js.executeScript(BATCH_RESOLVE_SCRIPT, candidates));
+        int index = ((Number) result.get(1)).intValue();
+        logger.info("Found element for field name '" + fieldName + "' using locator #" + index + ": " + locators.get(index));
+        return new ResolvedLocator((WebElement) result.get(0), locators.get(index), index);
+    }
+    
+    /**
+     * Poll all candidates in rank order under one explicit wait. Only used when implicit waits
+     * are off, so a candidate that matches nothing costs one findElements call, not a timeout.
+     * @param driver WebDriver instance
+     * @param fieldName Field or button name
+     * @param locators Ranked candidate locators
+     * @return Matching element and the winning locator
+     */
+    private ResolvedLocator findElementPolling(WebDriver driver, String fieldName, List<By> locators) {
+        WebDriverWait wait = new DeadlineWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
+        ResolvedLocator match;
+        try {
+            match = wait.until(d -> {
+                for (int i = 0; i < locators.size(); i++) {
+                    for (WebElement element : d.findElements(locators.get(i))) {
+                        try {
+                            if (isElementVisible(element) && isElementInteractable(element)) {
+                                return new ResolvedLocator(element, locators.get(i), i);
+                            }
+                        } catch (StaleElementReferenceException e) {
+                            // Found again on the next poll
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (TimeoutException e) {
+            throw elementNotFound(fieldName, locators);
+        }
+        logger.info("Found element for field name '" + fieldName + "' using locator: " + match.getLocator());
+        return match;
+    }
+    
+    /**
+     * Try candidates one after another, each with its own explicit wait
+     * @param driver WebDriver instance
+     * @param fieldName Field or button name
+     * @param locators Ranked candidate locators
+     * @return Matching element and the winning locator
+     */
+    private ResolvedLocator findElementSequential(WebDriver driver, String fieldName, List<By> locators) {
         WebElement foundElement = null;
         
         // First try with explicit wait for better performance
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        WebDriverWait wait = new DeadlineWait(driver, Duration.ofSeconds(TIMEOUT_SECONDS));
         
-        for (By locator : locators) {
+        for (int i = 0; i < locators.size(); i++) {
+            By locator = locators.get(i);
             try {
                 foundElement = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
                 if (isElementVisible(foundElement) && isElementInteractable(foundElement)) {
                     logger.info("Found element for field name '" + fieldName + "' using locator: " + locator);
-                    return foundElement;
+                    return new ResolvedLocator(foundElement, locator, i);
                 }
             } catch (Exception e) {
                 // Continue to next locator
@@ -47,7 +253,9 @@ public class DynamicLocatorFactory {
         }
         
         // If explicit wait didn't work, try the traditional approach
-        for (By locator : locators) {
+        for (int i = 0; i < locators.size(); i++) {
+            By locator = locators.get(i);
+            TestDeadline.check();
             try {
                 List<WebElement> elements = driver.findElements(locator);
                 if (!elements.isEmpty()) {
@@ -55,7 +263,7 @@ public class DynamicLocatorFactory {
                         try {
                             if (isElementVisible(element) && isElementInteractable(element)) {
                                 logger.info("Found element for field name '" + fieldName + "' using locator: " + locator);
-                                return element;
+                                return new ResolvedLocator(element, locator, i);
                             }
                         } catch (StaleElementReferenceException e) {
                             // Element became stale, try to find it again
@@ -64,7 +272,7 @@ public class DynamicLocatorFactory {
                                 element = elements.get(0);
                                 if (isElementVisible(element) && isElementInteractable(element)) {
                                     logger.info("Found element for field name '" + fieldName + "' using locator: " + locator + " (after handling stale element)");
-                                    return element;
+                                    return new ResolvedLocator(element, locator, i);
                                 }
                             }
                         }
@@ -76,13 +284,36 @@ public class DynamicLocatorFactory {
         }
         
         // If we still haven't found the element, log all the locators we tried
+        throw elementNotFound(fieldName, locators);
+    }
+    
+    /**
+     * Build the unranked candidate order
+     * @param size Number of candidates
+     * @return Candidate indexes in creation order
+     */
+    private static int[] identityOrder(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+    
+    /**
+     * Log all the locators that were tried and build the not-found exception
+     * @param fieldName Field or button name
+     * @param locators Candidate locators that were tried
+     * @return Exception to throw
+     */
+    private RuntimeException elementNotFound(String fieldName, List<By> locators) {
         logger.error("Could not find element for field name: " + fieldName);
         logger.error("Tried the following locators:");
         for (By locator : locators) {
             logger.error(" - " + locator);
         }
         
-        throw new RuntimeException("Could not find element for field name: " + fieldName);
+        return new RuntimeException("Could not find element for field name: " + fieldName);
     }
     
     /**
@@ -90,7 +321,7 @@ public class DynamicLocatorFactory {
      * @param fieldName Field or button name
      * @return List of By locators
      */
-    private List<By> createLocatorsForFieldName(String fieldName) {
+    List<By> createLocatorsForFieldName(String fieldName) {
         List<By> locators = new ArrayList<>();
         
         // Input fields
@@ -198,4 +429,35 @@ public class DynamicLocatorFactory {
             return false;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Element found by a resolution pass and the locator that matched
+     */
+    public static final class ResolvedLocator {
+        private final WebElement element;
+        private final By locator;
+        private final int index;
+        
+        private ResolvedLocator(WebElement element, By locator, int index) {
+            this.element = element;
+            this.locator = locator;
+            this.index = index;
+        }
+        
+        /**
+         * Get the matched element
+         * @return WebElement
+         */
+        public WebElement getElement() {
+            return element;
+        }
+        
+        /**
+         * Get the locator that matched
+         * @return By locator
+         */
+        public By getLocator() {
+            return locator;
+        }
+    }
+}
\ No newline at end of file
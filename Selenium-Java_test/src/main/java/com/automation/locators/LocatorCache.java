@@ -0,0 +1,273 @@
+package com.automation.locators;
+
+import com.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-thread cache of resolved locators keyed by page URL and field name or xpath.
+ * Each entry keeps the winning By and, optionally, the live WebElement. Entries are dropped
+ * when the browser loads a new document, and live elements are re-checked whenever nodes
+ * were added or removed since they were cached. Returned elements re-resolve themselves once
+ * on StaleElementReferenceException, to the same first visible match a re-check returns.
+ */
+public final class LocatorCache {
+    private static final Logger logger = LogManager.getLogger(LocatorCache.class);
+    private static LocatorCache instance;
+    
+    /**
+     * Installs a MutationObserver that bumps a generation counter when nodes are added or
+     * removed and returns [url, generation]. Attribute changes are not watched: carousels and
+     * lazy images change class and style all the time, and would turn every hit into a
+     * re-check. A generation of 0 means the observer was just installed, i.e. the browser is
+     * on a document the cache has not seen yet; the counter then starts at 1.
+     */
+    private static final String PAGE_STATE_SCRIPT =
+            "var state = window.__automationDomGen;" +
+            "if (!state) {" +
+            "  state = window.__automationDomGen = { gen: 1 };" +
+            "  new MutationObserver(function() { state.gen++; })" +
+            "      .observe(document, { childList: true, subtree: true });" +
+            "  return [location.href, 0];" +
+            "}" +
+            "return [location.href, state.gen];";
+    
+    private final boolean enabled;
+    private final boolean cacheElements;
+    private final ThreadLocal<Map<String, Entry>> entries = ThreadLocal.withInitial(HashMap::new);
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleRecoveries = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    private LocatorCache() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.enabled = config.isLocatorCacheEnabled();
+        this.cacheElements = config.isLocatorCacheElementsEnabled();
+    }
+    
+    /**
+     * Get singleton instance of LocatorCache
+     * @return LocatorCache instance
+     */
+    public static synchronized LocatorCache getInstance() {
+        if (instance == null) {
+            instance = new LocatorCache();
+        }
+        return instance;
+    }
+    
+    /**
+     * Find element by field or button name, using the cached locator when possible
+     * @param driver WebDriver instance
+     * @param fieldName Field or button name
+     * @param locatorFactory Factory used to resolve the field on a miss
+     * @return WebElement
+     */
+    public WebElement findByFieldName(WebDriver driver, String fieldName, DynamicLocatorFactory locatorFactory) {
+        if (!enabled) {
+            return locatorFactory.findElementByFieldName(driver, fieldName);
+        }
+        return find(driver, "field:" + fieldName, d -> {
+            DynamicLocatorFactory.ResolvedLocator resolved = locatorFactory.resolve(d, fieldName);
+            return new Entry(resolved.getLocator(), resolved.getElement());
+        });
+    }
+    
+    /**
+     * Find element by xpath, using the cached element when possible
+     * @param driver WebDriver instance
+     * @param xpath XPath expression
+     * @param resolver Resolves the xpath on a miss, typically with an explicit wait
+     * @return WebElement
+     */
+    public WebElement findByXpath(WebDriver driver, String xpath, Function<By, WebElement> resolver) {
+        By locator = By.xpath(xpath);
+        if (!enabled) {
+            return resolver.apply(locator);
+        }
+        return find(driver, "xpath:" + xpath, d -> new Entry(locator, resolver.apply(locator)));
+    }
+    
+    /**
+     * Drop all entries of the current thread, e.g. after an explicit navigation
+     */
+    public void invalidate() {
+        Map<String, Entry> threadEntries = entries.get();
+        if (!threadEntries.isEmpty()) {
+            invalidations.incrementAndGet();
+            threadEntries.clear();
+        }
+    }
+    
+    /**
+     * Get number of lookups served from the cache
+     * @return Cache hits, including revalidated entries
+     */
+    public long getHits() {
+        return hits.get();
+    }
+    
+    /**
+     * Get number of lookups that required a full resolve
+     * @return Cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+    
+    /**
+     * Get number of cached elements that went stale and were re-resolved
+     * @return Stale recoveries
+     */
+    public long getStaleCount() {
+        return staleRecoveries.get();
+    }
+    
+    /**
+     * Get a one-line summary of cache statistics
+     * @return Cache statistics
+     */
+    public String getStats() {
+        long total = hits.get() + misses.get();
+        double hitRate = total == 0 ? 0.0 : 100.0 * hits.get() / total;
+        return String.format("Lookups: %d, hits: %d (%.1f%%, %d revalidated by locator), misses: %d, "
+                        + "stale recoveries: %d, invalidations: %d",
+                total, hits.get(), hitRate, revalidations.get(), misses.get(), staleRecoveries.get(), invalidations.get());
+    }
+    
+    private WebElement find(WebDriver driver, String name, Function<WebDriver, Entry> resolver) {
+        List<?> state = (List<?>) ((JavascriptExecutor) driver).executeScript(PAGE_STATE_SCRIPT);
+        String url = String.valueOf(state.get(0));
+        long generation = ((Number) state.get(1)).longValue();
+        
+        Map<String, Entry> threadEntries = entries.get();
+        if (generation == 0) {
+            // A new document was loaded since the last lookup; its counter starts at 1
+            invalidate();
+            generation = 1;
+        }
+        
+        String key = url + "|" + name;
+        Entry entry = threadEntries.get(key);
+        if (entry != null) {
+            if (entry.element != null && entry.generation == generation) {
+                hits.incrementAndGet();
+                return proxy(driver, entry);
+            }
+            
+            WebElement revalidated = findVisible(driver, entry.locator);
+            if (revalidated != null) {
+                entry.element = cacheElements ? revalidated : null;
+                entry.generation = generation;
+                hits.incrementAndGet();
+                revalidations.incrementAndGet();
+                return cacheElements ? proxy(driver, entry) : revalidated;
+            }
+            threadEntries.remove(key);
+        }
+        
+        misses.incrementAndGet();
+        Entry resolved = resolver.apply(driver);
+        resolved.generation = generation;
+        WebElement element = resolved.element;
+        if (!cacheElements) {
+            resolved.element = null;
+        }
+        threadEntries.put(key, resolved);
+        return cacheElements ? proxy(driver, resolved) : element;
+    }
+    
+    /**
+     * Re-run a cached locator and return its first visible match
+     * @param driver WebDriver instance
+     * @param locator Cached locator
+     * @return Visible element or null
+     */
+    private WebElement findVisible(WebDriver driver, By locator) {
+        try {
+            for (WebElement element : driver.findElements(locator)) {
+                if (element.isDisplayed() && element.isEnabled()) {
+                    return element;
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Cached locator no longer resolves: " + locator + " (" + e.getMessage() + ")");
+        }
+        return null;
+    }
+    
+    /**
+     * Wrap a cached element so that a stale reference is re-resolved once through its locator
+     * @param driver WebDriver instance
+     * @param entry Cache entry
+     * @return Self-healing WebElement
+     */
+    private WebElement proxy(WebDriver driver, Entry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private WebElement current = entry.element;
+            
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("getWrappedElement".equals(method.getName())) {
+                    return current;
+                }
+                try {
+                    return method.invoke(current, args);
+                } catch (InvocationTargetException e) {
+                    if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                        throw e.getCause();
+                    }
+                    staleRecoveries.incrementAndGet();
+                    logger.debug("Cached element went stale, re-resolving: " + entry.locator);
+                    WebElement refound = findVisible(driver, entry.locator);
+                    if (refound == null) {
+                        throw e.getCause();
+                    }
+                    current = refound;
+                    entry.element = current;
+                    try {
+                        return method.invoke(current, args);
+                    } catch (InvocationTargetException retry) {
+                        throw retry.getCause();
+                    }
+                }
+            }
+        };
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class}, handler);
+    }
+    
+    /**
+     * Cached locator and, optionally, the live element it resolved to
+     */
+    private static final class Entry {
+        private final By locator;
+        private WebElement element;
+        private long generation;
+        
+        private Entry(By locator, WebElement element) {
+            this.locator = locator;
+            this.element = element;
+        }
+    }
+}
\ No newline at end of file
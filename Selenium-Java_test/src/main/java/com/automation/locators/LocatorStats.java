@@ -0,0 +1,236 @@
+package com.automation.locators;
+
+import com.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records which candidate locator won for each (host, page path, field name) and ranks
+ * candidates by observed hit count. Stats are persisted to a small text file so the next
+ * run starts with the ranking learned by the previous one.
+ */
+public final class LocatorStats {
+    private static final Logger logger = LogManager.getLogger(LocatorStats.class);
+    private static final String FILE_HEADER = "# locator-stats v1";
+    private static LocatorStats instance;
+    
+    private final boolean enabled;
+    private final Path storePath;
+    private final Map<String, Map<Integer, Integer>> hits = new TreeMap<>();
+    private boolean dirty;
+    
+    private LocatorStats() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.enabled = config.isLocatorLearningEnabled();
+        this.storePath = Paths.get(config.getLocatorStatsPath());
+        if (enabled) {
+            load();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::save, "locator-stats-save"));
+        }
+    }
+    
+    /**
+     * Get singleton instance of LocatorStats
+     * @return LocatorStats instance
+     */
+    public static synchronized LocatorStats getInstance() {
+        if (instance == null) {
+            instance = new LocatorStats();
+        }
+        return instance;
+    }
+    
+    /**
+     * Check if learned ranking is enabled
+     * @return true if candidates should be ranked by hit count
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Build the stats key for a page URL and field name. Path segments containing digits
+     * (product ids, session tokens) are collapsed so that similar pages share a ranking.
+     * @param url Current page URL
+     * @param fieldName Field or button name
+     * @return Stats key
+     */
+    public static String keyFor(String url, String fieldName) {
+        String host = "";
+        String path = "/";
+        try {
+            URI uri = URI.create(url);
+            host = uri.getHost() != null ? uri.getHost() : "";
+            path = uri.getPath() != null && !uri.getPath().isEmpty() ? uri.getPath() : "/";
+        } catch (IllegalArgumentException e) {
+            // Keep defaults for unparseable URLs such as data: or about:blank
+        }
+        
+        StringBuilder normalized = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            normalized.append('/').append(segment.matches(".*\\d.*") ? "*" : segment);
+        }
+        if (normalized.length() == 0) {
+            normalized.append('/');
+        }
+        return sanitize(host + normalized + "|" + fieldName);
+    }
+    
+    /**
+     * Rank candidate indexes by hit count, keeping creation order for ties
+     * @param key Stats key
+     * @param size Number of candidates
+     * @return Candidate indexes in the order they should be tried
+     */
+    public synchronized int[] rank(String key, int size) {
+        Map<Integer, Integer> counts = hits.get(key);
+        List<Integer> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            order.add(i);
+        }
+        if (counts != null) {
+            order.sort((a, b) -> Integer.compare(counts.getOrDefault(b, 0), counts.getOrDefault(a, 0)));
+        }
+        
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = order.get(i);
+        }
+        return result;
+    }
+    
+    /**
+     * Record that a candidate resolved the field
+     * @param key Stats key
+     * @param candidateIndex Index of the winning candidate in creation order
+     */
+    public synchronized void recordHit(String key, int candidateIndex) {
+        hits.computeIfAbsent(key, k -> new TreeMap<>()).merge(candidateIndex, 1, Integer::sum);
+        dirty = true;
+    }
+    
+    /**
+     * Dump the ranking table for inspection
+     * @return One line per key with candidate indexes in rank order and their hit counts
+     */
+    public synchronized String dumpRankingTable() {
+        StringBuilder table = new StringBuilder();
+        for (Map.Entry<String, Map<Integer, Integer>> entry : hits.entrySet()) {
+            int total = 0;
+            for (int count : entry.getValue().values()) {
+                total += count;
+            }
+            
+            List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(entry.getValue().entrySet());
+            ranked.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+            
+            table.append(entry.getKey()).append(" (").append(total).append(" hits):");
+            for (Map.Entry<Integer, Integer> candidate : ranked) {
+                table.append(" #").append(candidate.getKey()).append('=').append(candidate.getValue());
+            }
+            table.append(System.lineSeparator());
+        }
+        return table.toString();
+    }
+    
+    /**
+     * Persist the stats if they changed since the last save
+     */
+    public synchronized void save() {
+        if (!enabled || !dirty) {
+            return;
+        }
+        
+        try {
+            if (storePath.getParent() != null) {
+                Files.createDirectories(storePath.getParent());
+            }
+            Path tempPath = storePath.resolveSibling(storePath.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                writer.write(FILE_HEADER);
+                writer.newLine();
+                for (Map.Entry<String, Map<Integer, Integer>> entry : hits.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write('\t');
+                    boolean first = true;
+                    for (Map.Entry<Integer, Integer> candidate : entry.getValue().entrySet()) {
+                        if (!first) {
+                            writer.write(',');
+                        }
+                        writer.write(candidate.getKey() + ":" + candidate.getValue());
+                        first = false;
+                    }
+                    writer.newLine();
+                }
+            }
+            Files.move(tempPath, storePath, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+            logger.info("Saved locator stats for " + hits.size() + " field(s) to: " + storePath);
+        } catch (IOException e) {
+            logger.warn("Failed to save locator stats: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Load stats persisted by a previous run
+     */
+    private void load() {
+        if (!Files.exists(storePath)) {
+            return;
+        }
+        
+        try (BufferedReader reader = Files.newBufferedReader(storePath, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (!FILE_HEADER.equals(header)) {
+                logger.warn("Ignoring locator stats file with unknown format: " + storePath);
+                return;
+            }
+            
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.lastIndexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                Map<Integer, Integer> counts = new TreeMap<>();
+                for (String pair : line.substring(tab + 1).split(",")) {
+                    String[] parts = pair.split(":");
+                    if (parts.length == 2) {
+                        counts.put(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                    }
+                }
+                hits.put(line.substring(0, tab), counts);
+            }
+            logger.info("Loaded locator stats for " + hits.size() + " field(s) from: " + storePath);
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Failed to load locator stats, starting cold: " + e.getMessage());
+            hits.clear();
+        }
+    }
+    
+    /**
+     * Strip characters that would break the line-based file format
+     * @param key Raw key
+     * @return Sanitized key
+     */
+    private static String sanitize(String key) {
+        return key.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
\ No newline at end of file
@@ -1,24 +1,43 @@
 package com.automation.pages;
 
-import org.openqa.selenium.By;
+import com.automation.utils.WaitUtils;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Page object for Amazon cart page
  */
 public class AmazonCartPage extends BasePage {
+    private static final String CART_ITEM_SELECTOR = "div.sc-list-item";
     
-    @FindBy(id = "sc-subtotal-amount-activecart")
-    private WebElement subtotalAmount;
+    // Returns [index, title, quantity, price, row, quantity dropdown, delete button] for every cart row
+    private static final String SNAPSHOT_SCRIPT =
+            "var rows = document.querySelectorAll(arguments[0]), items = [];" +
+            "function text(row, selector) { var e = row.querySelector(selector); return e ? e.innerText.trim() : ''; }" +
+            "for (var i = 0; i < rows.length; i++) {" +
+            "  var row = rows[i];" +
+            "  var dropdown = row.querySelector('select.a-native-dropdown');" +
+            "  var quantity = dropdown ? dropdown.value : text(row, \"[data-a-selector='value']\");" +
+            "  var box = row.querySelector(\"input[name='quantityBox']\");" +
+            "  if (!quantity && box) quantity = box.value;" +
+            "  var price = text(row, '.sc-product-price') || text(row, 'span.a-price span.a-offscreen');" +
+            "  var remove = row.querySelector(\"span[data-action='delete'] input, input[value='Delete']\")" +
+            "      || row.querySelector('input.a-color-link');" +
+            "  items.push([i, text(row, 'span.a-truncate-cut'), parseInt(quantity, 10) || 0, price, row, dropdown, remove]);" +
+            "}" +
+            "return items;";
     
-    @FindBy(css = "span.a-truncate-cut")
-    private List<WebElement> productTitles;
+    private static final String SUBTOTAL_SCRIPT =
+            "var e = document.getElementById('sc-subtotal-amount-activecart'); return e ? e.innerText.trim() : '';";
     
-    @FindBy(css = "input.a-color-link")
-    private List<WebElement> deleteButtons;
+    @FindBy(id = "sc-subtotal-amount-activecart")
+    private WebElement subtotalAmount;
     
     @FindBy(css = "input.a-button-input[name='proceedToRetailCheckout']")
     private WebElement proceedToCheckoutButton;
@@ -26,9 +45,12 @@ public class AmazonCartPage extends BasePage {
     @FindBy(css = "h1")
     private WebElement pageHeader;
     
-    @FindBy(css = "div.sc-list-item")
+    @FindBy(css = CART_ITEM_SELECTOR)
     private List<WebElement> cartItems;
     
+    // Rows read by the last snapshot, cleared by every cart mutation
+    private List<CartItem> snapshot;
+    
     /**
      * Constructor
      */
@@ -50,7 +72,7 @@ public class AmazonCartPage extends BasePage {
      * @return Number of items in cart
      */
     public int getNumberOfItemsInCart() {
-        return cartItems.size();
+        return getCartSnapshot().size();
     }
     
     /**
@@ -66,14 +88,35 @@ public class AmazonCartPage extends BasePage {
         }
     }
     
+    /**
+     * Get title, quantity and price of every cart row, read with a single script call. The
+     * snapshot is reused until the cart is changed through this page object.
+     * @return Cart rows in page order
+     */
+    public List<CartItem> getCartSnapshot() {
+        if (snapshot == null) {
+            List<?> rows = (List<?>) js.executeScript(SNAPSHOT_SCRIPT, CART_ITEM_SELECTOR);
+            List<CartItem> items = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                List<?> values = (List<?>) row;
+                items.add(new CartItem(((Number) values.get(0)).intValue(), (String) values.get(1),
+                        ((Number) values.get(2)).intValue(), (String) values.get(3), (WebElement) values.get(4),
+                        (WebElement) values.get(5), (WebElement) values.get(6)));
+            }
+            snapshot = Collections.unmodifiableList(items);
+            logger.info("Read " + snapshot.size() + " cart row(s)");
+        }
+        return snapshot;
+    }
+    
     /**
      * Get product titles in cart
      * @return List of product titles
      */
     public List<String> getProductTitles() {
-        List<String> titles = new java.util.ArrayList<>();
-        for (WebElement title : productTitles) {
-            titles.add(getText(title));
+        List<String> titles = new ArrayList<>();
+        for (CartItem item : getCartSnapshot()) {
+            titles.add(item.getTitle());
         }
         return titles;
     }
@@ -83,12 +126,12 @@ public class AmazonCartPage extends BasePage {
      * @param index Product index (0-based)
      */
     public void deleteProductByIndex(int index) {
-        if (index >= 0 && index < deleteButtons.size()) {
-            logger.info("Deleting product at index: " + index);
-            click(deleteButtons.get(index));
-        } else {
-            throw new IllegalArgumentException("Invalid product index: " + index);
+        CartItem item = getCartItem(index);
+        if (item.deleteButton == null) {
+            throw new RuntimeException("No delete button for cart item: " + item);
         }
+        logger.info("Deleting product at index: " + index);
+        updateCart(item, () -> click(item.deleteButton));
     }
     
     /**
@@ -97,16 +140,7 @@ public class AmazonCartPage extends BasePage {
      */
     public void deleteProductByName(String productName) {
         logger.info("Deleting product: " + productName);
-        
-        List<String> titles = getProductTitles();
-        for (int i = 0; i < titles.size(); i++) {
-            if (titles.get(i).toLowerCase().contains(productName.toLowerCase())) {
-                deleteProductByIndex(i);
-                return;
-            }
-        }
-        
-        throw new RuntimeException("Product not found in cart: " + productName);
+        deleteProductByIndex(findCartItem(productName).getIndex());
     }
     
     /**
@@ -115,14 +149,8 @@ public class AmazonCartPage extends BasePage {
      * @param quantity New quantity
      */
     public void updateProductQuantity(int index, int quantity) {
-        if (index >= 0 && index < cartItems.size()) {
-            logger.info("Updating quantity of product at index " + index + " to " + quantity);
-            
-            WebElement quantityDropdown = cartItems.get(index).findElement(By.cssSelector("select.a-native-dropdown"));
-            selectByVisibleText(quantityDropdown, String.valueOf(quantity));
-        } else {
-            throw new IllegalArgumentException("Invalid product index: " + index);
-        }
+        logger.info("Updating quantity of product at index " + index + " to " + quantity);
+        selectQuantity(getCartItem(index), quantity);
     }
     
     /**
@@ -132,25 +160,7 @@ public class AmazonCartPage extends BasePage {
      */
     public void updateProductQuantityDynamic(String productName, int quantity) {
         logger.info("Updating quantity of product " + productName + " to " + quantity + " using dynamic locator");
-        
-        // Find the product row
-        WebElement productRow = null;
-        for (WebElement item : cartItems) {
-            WebElement titleElement = item.findElement(By.cssSelector("span.a-truncate-cut"));
-            String title = getText(titleElement);
-            
-            if (title.toLowerCase().contains(productName.toLowerCase())) {
-                productRow = item;
-                break;
-            }
-        }
-        
-        if (productRow != null) {
-            WebElement quantityDropdown = productRow.findElement(By.cssSelector("select.a-native-dropdown"));
-            selectByVisibleText(quantityDropdown, String.valueOf(quantity));
-        } else {
-            throw new RuntimeException("Product not found in cart: " + productName);
-        }
+        selectQuantity(findCartItem(productName), quantity);
     }
     
     /**
@@ -158,6 +168,7 @@ public class AmazonCartPage extends BasePage {
      */
     public void proceedToCheckout() {
         logger.info("Proceeding to checkout");
+        snapshot = null;
         click(proceedToCheckoutButton);
     }
     
@@ -166,6 +177,7 @@ public class AmazonCartPage extends BasePage {
      */
     public void proceedToCheckoutDynamic() {
         logger.info("Proceeding to checkout using dynamic locator");
+        snapshot = null;
         clickByFieldName("Proceed to checkout");
     }
     
@@ -176,4 +188,149 @@ public class AmazonCartPage extends BasePage {
     public boolean isCartPageLoaded() {
         return getPageTitle().contains("Amazon.in Shopping Cart");
     }
+    
+    /**
+     * Get a cart row from the snapshot
+     * @param index Product index (0-based)
+     * @return Cart row
+     */
+    private CartItem getCartItem(int index) {
+        List<CartItem> items = getCartSnapshot();
+        if (index >= 0 && index < items.size()) {
+            return items.get(index);
+        } else {
+            throw new IllegalArgumentException("Invalid product index: " + index);
+        }
+    }
+    
+    /**
+     * Find the first cart row whose title contains the product name, ignoring case
+     * @param productName Product name
+     * @return Cart row
+     */
+    private CartItem findCartItem(String productName) {
+        for (CartItem item : getCartSnapshot()) {
+            if (item.getTitle().toLowerCase().contains(productName.toLowerCase())) {
+                return item;
+            }
+        }
+        throw new RuntimeException("Product not found in cart: " + productName);
+    }
+    
+    /**
+     * Select a quantity in a cart row's dropdown
+     * @param item Cart row
+     * @param quantity New quantity
+     */
+    private void selectQuantity(CartItem item, int quantity) {
+        if (item.quantityDropdown == null) {
+            throw new RuntimeException("No quantity dropdown for cart item: " + item);
+        }
+        updateCart(item, () -> selectByVisibleText(item.quantityDropdown, String.valueOf(quantity)));
+    }
+    
+    /**
+     * Change the cart and wait until the page shows the change, by the row going stale or the
+     * subtotal changing, before allowing a new snapshot. A snapshot read while the update is
+     * still in flight would cache the old rows.
+     * @param item Cart row the change applies to
+     * @param change Click or selection that changes the cart
+     */
+    private void updateCart(CartItem item, Runnable change) {
+        String subtotal = readSubtotal();
+        try {
+            change.run();
+            WaitUtils.getWait().until(d -> isStale(item.row) || !subtotal.equals(readSubtotal()));
+        } catch (TimeoutException e) {
+            logger.warn("Cart did not show the change to " + item + " in time");
+        } finally {
+            snapshot = null;
+        }
+    }
+    
+    /**
+     * Read the subtotal with a script, so a missing subtotal does not wait for the implicit wait
+     * @return Subtotal text, empty if there is none
+     */
+    private String readSubtotal() {
+        return String.valueOf(js.executeScript(SUBTOTAL_SCRIPT));
+    }
+    
+    private static boolean isStale(WebElement element) {
+        try {
+            element.isEnabled();
+            return false;
+        } catch (StaleElementReferenceException e) {
+            return true;
+        }
+    }
+    
+    /**
+     * Title, quantity and price of one cart row, read in bulk by {@link #getCartSnapshot()}
+     */
+    public static final class CartItem {
+        private final int index;
+        private final String title;
+        private final int quantity;
+        private final String price;
+        private final WebElement row;
+        private final WebElement quantityDropdown;
+        private final WebElement deleteButton;
+        
+        private CartItem(int index, String title, int quantity, String price, WebElement row,
+                         WebElement quantityDropdown, WebElement deleteButton) {
+            this.index = index;
+            this.title = title;
+            this.quantity = quantity;
+            this.price = price;
+            this.row = row;
+            this.quantityDropdown = quantityDropdown;
+            this.deleteButton = deleteButton;
+        }
+        
+        /**
+         * Get position among the cart rows
+         * @return Row index (0-based)
+         */
+        public int getIndex() {
+            return index;
+        }
+        
+        /**
+         * Get product title
+         * @return Title, empty if the row has none
+         */
+        public String getTitle() {
+            return title;
+        }
+        
+        /**
+         * Get selected quantity
+         * @return Quantity, 0 if the row shows none
+         */
+        public int getQuantity() {
+            return quantity;
+        }
+        
+        /**
+         * Get product price
+         * @return Price, empty if the row shows none
+         */
+        public String getPrice() {
+            return price;
+        }
+        
+        /**
+         * Get the row element, valid until the cart changes
+         * @return Cart row element
+         */
+        public WebElement getRow() {
+            return row;
+        }
+        
+        @Override
+        public String toString() {
+            return "#" + index + " " + title + " x" + quantity + " (" + price + ")";
+        }
+    }
 } 
\ No newline at end of file
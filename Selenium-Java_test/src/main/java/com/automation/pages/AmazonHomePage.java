@@ -1,5 +1,7 @@
 package com.automation.pages;
 
+import com.automation.core.DeadlineWait;
+import com.automation.utils.WaitUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
@@ -96,7 +98,7 @@ public class AmazonHomePage extends BasePage {
     public boolean isHomePageLoaded() {
         try {
             // Wait for critical elements with timeout
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+            WebDriverWait wait = new DeadlineWait(driver, Duration.ofSeconds(10));
             
             // Check for title
             boolean titleCheck = false;
@@ -116,7 +118,7 @@ public class AmazonHomePage extends BasePage {
                 logger.warn("Search box check failed: " + e.getMessage());
                 // Try finding it again in case of stale element
                 try {
-                    WebElement searchBoxFresh = driver.findElement(By.id("twotabsearchtextbox"));
+                    WebElement searchBoxFresh = WaitUtils.findElement(driver, By.id("twotabsearchtextbox"), 0);
                     searchBoxCheck = isElementDisplayed(searchBoxFresh);
                 } catch (Exception ex) {
                     logger.warn("Search box not found on retry: " + ex.getMessage());
@@ -131,7 +133,7 @@ public class AmazonHomePage extends BasePage {
                 logger.warn("Logo check failed: " + e.getMessage());
                 // Try finding it with a different locator
                 try {
-                    WebElement altLogo = driver.findElement(By.cssSelector(".nav-logo-link"));
+                    WebElement altLogo = WaitUtils.findElement(driver, By.cssSelector(".nav-logo-link"), 0);
                     logoCheck = isElementDisplayed(altLogo);
                 } catch (Exception ex) {
                     logger.warn("Logo not found with alternate locator: " + ex.getMessage());
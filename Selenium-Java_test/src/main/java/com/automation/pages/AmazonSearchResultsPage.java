@@ -1,5 +1,7 @@
 package com.automation.pages;
 
+import com.automation.core.DeadlineWait;
+import com.automation.utils.WaitUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
@@ -9,18 +11,30 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Page object for Amazon search results page
  */
 public class AmazonSearchResultsPage extends BasePage {
+    private static final String RESULT_SELECTOR = "div[data-component-type='s-search-result']";
     
-    @FindBy(css = "div[data-component-type='s-search-result']")
-    private List<WebElement> searchResults;
+    // Returns [index, title, price, link, title link element] for every result
+    private static final String EXTRACT_RESULTS_SCRIPT =
+            "var results = document.querySelectorAll(arguments[0]), rows = [];" +
+            "for (var i = 0; i < results.length; i++) {" +
+            "  var anchor = results[i].querySelector('h2 a');" +
+            "  if (!anchor) { var heading = results[i].querySelector('h2'); anchor = heading && heading.closest('a'); }" +
+            "  var price = results[i].querySelector('span.a-price-whole');" +
+            "  rows.push([i, anchor ? anchor.innerText.trim() : '', price ? price.innerText.trim() : ''," +
+            "      anchor ? anchor.href : '', anchor]);" +
+            "}" +
+            "return rows;";
     
-    @FindBy(css = "span.a-price-whole")
-    private List<WebElement> productPrices;
+    @FindBy(css = RESULT_SELECTOR)
+    private List<WebElement> searchResults;
     
     @FindBy(css = "span.a-color-state.a-text-bold")
     private WebElement searchKeyword;
@@ -56,18 +70,42 @@ public class AmazonSearchResultsPage extends BasePage {
         return getText(searchKeyword).replace("\"", "");
     }
     
+    /**
+     * Get title, price and link of every search result with a single script call, waiting for
+     * the results to appear
+     * @return Search results in page order, empty if none appeared before the timeout
+     */
+    public List<SearchResult> getSearchResults() {
+        List<?> rows;
+        try {
+            rows = WaitUtils.getWait().until(d -> {
+                List<?> extracted = (List<?>) js.executeScript(EXTRACT_RESULTS_SCRIPT, RESULT_SELECTOR);
+                return extracted.isEmpty() ? null : extracted;
+            });
+        } catch (TimeoutException e) {
+            logger.warn("No search results found");
+            return Collections.emptyList();
+        }
+        
+        List<SearchResult> results = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            List<?> values = (List<?>) row;
+            results.add(new SearchResult(((Number) values.get(0)).intValue(), (String) values.get(1),
+                    (String) values.get(2), (String) values.get(3), (WebElement) values.get(4)));
+        }
+        logger.info("Extracted " + results.size() + " search result(s)");
+        return Collections.unmodifiableList(results);
+    }
+    
     /**
      * Click on product by index
      * @param index Product index (0-based)
      * @return AmazonProductPage
      */
     public AmazonProductPage clickOnProduct(int index) {
-        if (index >= 0 && index < searchResults.size()) {
-            WebElement productTitle = searchResults.get(index).findElement(By.cssSelector("h2 a"));
-            String productName = getText(productTitle);
-            logger.info("Clicking on product: " + productName);
-            click(productTitle);
-            return new AmazonProductPage();
+        List<SearchResult> results = getSearchResults();
+        if (index >= 0 && index < results.size()) {
+            return clickOnProduct(results.get(index));
         } else {
             throw new IllegalArgumentException("Invalid product index: " + index);
         }
@@ -81,20 +119,30 @@ public class AmazonSearchResultsPage extends BasePage {
     public AmazonProductPage clickOnProductByName(String productName) {
         logger.info("Looking for product with name: " + productName);
         
-        for (WebElement result : searchResults) {
-            WebElement titleElement = result.findElement(By.cssSelector("h2 a"));
-            String title = getText(titleElement);
-            
-            if (title.toLowerCase().contains(productName.toLowerCase())) {
-                logger.info("Found product: " + title);
-                click(titleElement);
-                return new AmazonProductPage();
+        for (SearchResult result : getSearchResults()) {
+            if (result.getTitle().toLowerCase().contains(productName.toLowerCase())) {
+                logger.info("Found product: " + result.getTitle());
+                return clickOnProduct(result);
             }
         }
         
         throw new RuntimeException("Product not found: " + productName);
     }
     
+    /**
+     * Click on the title link of an extracted search result
+     * @param result Search result from {@link #getSearchResults()}
+     * @return AmazonProductPage
+     */
+    public AmazonProductPage clickOnProduct(SearchResult result) {
+        if (result.titleLink == null) {
+            throw new RuntimeException("Search result has no title link: " + result);
+        }
+        logger.info("Clicking on product: " + result.getTitle());
+        click(result.titleLink);
+        return new AmazonProductPage();
+    }
+    
     /**
      * Click on product by name using dynamic locator
      * @param productName Product name
@@ -112,8 +160,9 @@ public class AmazonSearchResultsPage extends BasePage {
      * @return Product price
      */
     public String getProductPrice(int index) {
-        if (index >= 0 && index < productPrices.size()) {
-            return getText(productPrices.get(index));
+        List<SearchResult> results = getSearchResults();
+        if (index >= 0 && index < results.size()) {
+            return results.get(index).getPrice();
         } else {
             throw new IllegalArgumentException("Invalid product index: " + index);
         }
@@ -156,8 +205,8 @@ public class AmazonSearchResultsPage extends BasePage {
             
             try {
                 // Wait for search results to be present
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-                wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("div[data-component-type='s-search-result']")));
+                WebDriverWait wait = new DeadlineWait(driver, Duration.ofSeconds(10));
+                wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(RESULT_SELECTOR)));
                 hasSearchResults = !searchResults.isEmpty();
             } catch (TimeoutException | StaleElementReferenceException e) {
                 logger.warn("Search results not found: " + e.getMessage());
@@ -174,7 +223,7 @@ public class AmazonSearchResultsPage extends BasePage {
             } catch (Exception e) {
                 // Amazon sometimes uses different IDs for result count
                 try {
-                    WebElement altResultCount = driver.findElement(By.cssSelector(".a-section.a-spacing-small.a-spacing-top-small"));
+                    WebElement altResultCount = WaitUtils.findElement(driver, By.cssSelector(".a-section.a-spacing-small.a-spacing-top-small"), 0);
                     hasResultCount = isElementDisplayed(altResultCount);
                 } catch (Exception ex) {
                     logger.warn("Result count not found: " + ex.getMessage());
@@ -194,4 +243,60 @@ public class AmazonSearchResultsPage extends BasePage {
             return false;
         }
     }
+    
+    /**
+     * Title, price and link of one search result, read in bulk by {@link #getSearchResults()}
+     */
+    public static final class SearchResult {
+        private final int index;
+        private final String title;
+        private final String price;
+        private final String link;
+        private final WebElement titleLink;
+        
+        private SearchResult(int index, String title, String price, String link, WebElement titleLink) {
+            this.index = index;
+            this.title = title;
+            this.price = price;
+            this.link = link;
+            this.titleLink = titleLink;
+        }
+        
+        /**
+         * Get position among the search results
+         * @return Result index (0-based)
+         */
+        public int getIndex() {
+            return index;
+        }
+        
+        /**
+         * Get product title
+         * @return Title, empty if the result has none
+         */
+        public String getTitle() {
+            return title;
+        }
+        
+        /**
+         * Get whole part of the product price
+         * @return Price, empty if the result shows none
+         */
+        public String getPrice() {
+            return price;
+        }
+        
+        /**
+         * Get product page URL
+         * @return Link, empty if the result has none
+         */
+        public String getLink() {
+            return link;
+        }
+        
+        @Override
+        public String toString() {
+            return "#" + index + " " + title + " (" + price + ") " + link;
+        }
+    }
 } 
\ No newline at end of file
@@ -2,17 +2,16 @@ package com.automation.pages;
 
 import com.automation.core.DriverManager;
 import com.automation.locators.DynamicLocatorFactory;
+import com.automation.locators.LocatorCache;
 import com.automation.utils.WaitUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
 import java.util.List;
 
 /**
@@ -27,15 +26,17 @@ public abstract class BasePage {
     protected DynamicLocatorFactory locatorFactory;
     
     /**
-     * Constructor
+     * Constructor. Helpers are shared per thread and element fields are bound from a per-class
+     * cache, so pages are cheap to create.
      */
     public BasePage() {
         this.driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        this.actions = new Actions(driver);
+        PageHelpers helpers = PageHelpers.forDriver(driver);
+        this.wait = helpers.wait;
+        this.actions = helpers.actions;
         this.js = (JavascriptExecutor) driver;
-        this.locatorFactory = new DynamicLocatorFactory();
-        PageFactory.initElements(driver, this);
+        this.locatorFactory = helpers.locatorFactory;
+        PageElements.initElements(driver, this);
     }
     
     /**
@@ -60,6 +61,7 @@ public abstract class BasePage {
      */
     public void navigateTo(String url) {
         driver.get(url);
+        LocatorCache.getInstance().invalidate();
         logger.info("Navigated to URL: " + url);
     }
     
@@ -68,6 +70,7 @@ public abstract class BasePage {
      */
     public void refreshPage() {
         driver.navigate().refresh();
+        LocatorCache.getInstance().invalidate();
         logger.info("Page refreshed");
     }
     
@@ -217,7 +220,7 @@ public abstract class BasePage {
      * @return WebElement
      */
     protected WebElement findElementByFieldName(String fieldName) {
-        return locatorFactory.findElementByFieldName(driver, fieldName);
+        return LocatorCache.getInstance().findByFieldName(driver, fieldName, locatorFactory);
     }
     
     /**
@@ -0,0 +1,134 @@
+package com.automation.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Element proxies for page object fields, with the same semantics as PageFactory.initElements:
+ * WebElement fields and annotated List&lt;WebElement&gt; fields get proxies that look the
+ * element up on every call, or once with @CacheLookup. The fields, their locators and the
+ * proxy classes are worked out once per page class, so constructing a page only allocates the
+ * proxies and sets the fields.
+ */
+final class PageElements {
+    private static final ClassValue<List<ElementField>> fields = new ClassValue<List<ElementField>>() {
+        @Override
+        protected List<ElementField> computeValue(Class<?> pageClass) {
+            return scan(pageClass);
+        }
+    };
+    private static final Constructor<?> elementProxy = proxyConstructor(WebElement.class, WrapsElement.class, Locatable.class);
+    private static final Constructor<?> listProxy = proxyConstructor(List.class);
+    
+    /**
+     * Field of a page class with its locator
+     */
+    private static final class ElementField extends AbstractAnnotations {
+        private final Field field;
+        private final By by;
+        private final boolean lookupCached;
+        private final boolean list;
+        
+        private ElementField(Field field, boolean list) {
+            Annotations annotations = new Annotations(field);
+            this.field = field;
+            this.by = annotations.buildBy();
+            this.lookupCached = annotations.isLookupCached();
+            this.list = list;
+        }
+        
+        @Override
+        public By buildBy() {
+            return by;
+        }
+        
+        @Override
+        public boolean isLookupCached() {
+            return lookupCached;
+        }
+    }
+    
+    private PageElements() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Set the element fields of a page to lazy element proxies
+     * @param context Driver or element the elements are looked up from
+     * @param page Page object
+     */
+    static void initElements(SearchContext context, Object page) {
+        for (ElementField elementField : fields.get(page.getClass())) {
+            DefaultElementLocator locator = new DefaultElementLocator(context, elementField);
+            InvocationHandler handler = elementField.list
+                    ? new LocatingElementListHandler(locator)
+                    : new LocatingElementHandler(locator);
+            try {
+                elementField.field.set(page, (elementField.list ? listProxy : elementProxy).newInstance(handler));
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Could not set element field: " + elementField.field, e);
+            }
+        }
+    }
+    
+    /**
+     * Find the fields PageFactory would decorate in a page class and its superclasses
+     * @param pageClass Page class
+     * @return Element fields with their locators
+     */
+    private static List<ElementField> scan(Class<?> pageClass) {
+        List<ElementField> elementFields = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                boolean list = isElementList(field);
+                if (list || WebElement.class.isAssignableFrom(field.getType())) {
+                    field.setAccessible(true);
+                    elementFields.add(new ElementField(field, list));
+                }
+            }
+        }
+        return elementFields;
+    }
+    
+    private static boolean isElementList(Field field) {
+        if (!List.class.isAssignableFrom(field.getType())) {
+            return false;
+        }
+        Type genericType = field.getGenericType();
+        if (!(genericType instanceof ParameterizedType)
+                || ((ParameterizedType) genericType).getActualTypeArguments()[0] != WebElement.class) {
+            return false;
+        }
+        return field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class);
+    }
+    
+    private static Constructor<?> proxyConstructor(Class<?>... interfaces) {
+        Object proxy = Proxy.newProxyInstance(PageElements.class.getClassLoader(), interfaces, (p, method, args) -> null);
+        try {
+            return proxy.getClass().getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Proxy class has no handler constructor", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.automation.pages;
+
+import com.automation.core.DeadlineWait;
+import com.automation.locators.DynamicLocatorFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * Wait, Actions and locator factory shared by all page objects of a thread while it uses the
+ * same driver. None of them keep state between calls: the wait sets its timeout on each call
+ * and Actions clears its sequences on perform.
+ */
+final class PageHelpers {
+    private static final ThreadLocal<PageHelpers> current = new ThreadLocal<>();
+    
+    final WebDriver driver;
+    final WebDriverWait wait;
+    final Actions actions;
+    final DynamicLocatorFactory locatorFactory;
+    
+    private PageHelpers(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new DeadlineWait(driver, Duration.ofSeconds(10));
+        this.actions = new Actions(driver);
+        this.locatorFactory = new DynamicLocatorFactory();
+    }
+    
+    /**
+     * Get the helpers of the current thread, creating them when the thread's driver changed
+     * @param driver WebDriver instance
+     * @return Helpers bound to the driver
+     */
+    static PageHelpers forDriver(WebDriver driver) {
+        PageHelpers helpers = current.get();
+        if (helpers == null || helpers.driver != driver) {
+            helpers = new PageHelpers(driver);
+            current.set(helpers);
+        }
+        return helpers;
+    }
+}
\ No newline at end of file
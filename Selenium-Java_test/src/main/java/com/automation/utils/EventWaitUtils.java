@@ -0,0 +1,211 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigReader;
+import com.automation.core.DriverManager;
+import com.automation.core.TestDeadline;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event-driven waits. Instead of polling over the wire every 500 ms, each wait installs a
+ * MutationObserver in the page and blocks on a single async script that completes as soon as
+ * the condition holds. These are drop-in alternatives to the polling waits in {@link WaitUtils}.
+ */
+public class EventWaitUtils {
+    private static final Logger logger = LogManager.getLogger(EventWaitUtils.class);
+    
+    /**
+     * Arguments: element (or null), condition, condition parameter, timeout in ms, callback.
+     * Calls back with 'ok', 'stale' or 'timeout'. A slow interval check backs up the observer
+     * for changes that do not mutate the DOM, such as CSS transitions.
+     */
+    private static final String WAIT_SCRIPT =
+            "var element = arguments[0], condition = arguments[1], param = arguments[2], timeout = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var observerOptions = { childList: true, subtree: true, attributes: true, characterData: true };" +
+            "function isVisible(e) {" +
+            "  var style = window.getComputedStyle(e);" +
+            "  if (style.display === 'none' || style.visibility === 'hidden' || style.visibility === 'collapse'" +
+            "      || parseFloat(style.opacity) === 0) return false;" +
+            "  var rects = e.getClientRects();" +
+            "  return rects.length > 0 && (rects[0].width > 0 || rects[0].height > 0);" +
+            "}" +
+            "function check() {" +
+            "  if (condition === 'ready') return document.readyState === 'complete' ? 'ok' : null;" +
+            "  if (!element.isConnected) return 'stale';" +
+            "  if (condition === 'visible') return isVisible(element) ? 'ok' : null;" +
+            "  if (condition === 'clickable') return isVisible(element) && !element.disabled ? 'ok' : null;" +
+            "  if (condition === 'text') return (element.innerText || element.textContent || '').indexOf(param) >= 0 ? 'ok' : null;" +
+            "  return null;" +
+            "}" +
+            "var finished = false, observer = null, interval = null, quietTimer = null, deadline = null;" +
+            "function onChange() { var result = check(); if (result) finish(result); }" +
+            "function finish(result) {" +
+            "  if (finished) return;" +
+            "  finished = true;" +
+            "  if (observer) observer.disconnect();" +
+            "  clearInterval(interval); clearTimeout(quietTimer); clearTimeout(deadline);" +
+            "  document.removeEventListener('readystatechange', onChange);" +
+            "  done(result);" +
+            "}" +
+            "if (condition === 'quiet') {" +
+            "  var arm = function() { clearTimeout(quietTimer); quietTimer = setTimeout(function() { finish('ok'); }, param); };" +
+            "  observer = new MutationObserver(arm);" +
+            "  observer.observe(document, observerOptions);" +
+            "  arm();" +
+            "} else {" +
+            "  var initial = check();" +
+            "  if (initial) { done(initial); return; }" +
+            "  observer = new MutationObserver(onChange);" +
+            "  observer.observe(document, observerOptions);" +
+            "  document.addEventListener('readystatechange', onChange);" +
+            "  interval = setInterval(onChange, 250);" +
+            "}" +
+            "deadline = setTimeout(function() { finish('timeout'); }, timeout);";
+    
+    private EventWaitUtils() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Wait for element to be visible
+     * @param element WebElement to wait for
+     * @return WebElement that is now visible
+     */
+    public static WebElement waitForElementToBeVisible(WebElement element) {
+        return waitForElementToBeVisible(element, WaitUtils.DEFAULT_TIMEOUT);
+    }
+    
+    /**
+     * Wait for element to be visible with custom timeout
+     * @param element WebElement to wait for
+     * @param timeoutInSeconds Timeout in seconds
+     * @return WebElement that is now visible
+     */
+    public static WebElement waitForElementToBeVisible(WebElement element, int timeoutInSeconds) {
+        await(element, "visible", null, timeoutInSeconds, "visibility of " + element);
+        return element;
+    }
+    
+    /**
+     * Wait for element to be clickable
+     * @param element WebElement to wait for
+     * @return WebElement that is now clickable
+     */
+    public static WebElement waitForElementToBeClickable(WebElement element) {
+        return waitForElementToBeClickable(element, WaitUtils.DEFAULT_TIMEOUT);
+    }
+    
+    /**
+     * Wait for element to be clickable with custom timeout
+     * @param element WebElement to wait for
+     * @param timeoutInSeconds Timeout in seconds
+     * @return WebElement that is now clickable
+     */
+    public static WebElement waitForElementToBeClickable(WebElement element, int timeoutInSeconds) {
+        await(element, "clickable", null, timeoutInSeconds, "element to be clickable: " + element);
+        return element;
+    }
+    
+    /**
+     * Wait for text to be present in element
+     * @param element WebElement to check
+     * @param text Expected text
+     * @return WebElement that now contains the text
+     */
+    public static WebElement waitForTextToBePresent(WebElement element, String text) {
+        return waitForTextToBePresent(element, text, WaitUtils.DEFAULT_TIMEOUT);
+    }
+    
+    /**
+     * Wait for text to be present in element with custom timeout
+     * @param element WebElement to check
+     * @param text Expected text
+     * @param timeoutInSeconds Timeout in seconds
+     * @return WebElement that now contains the text
+     */
+    public static WebElement waitForTextToBePresent(WebElement element, String text, int timeoutInSeconds) {
+        await(element, "text", text, timeoutInSeconds, "text ('" + text + "') to be present in element " + element);
+        return element;
+    }
+    
+    /**
+     * Wait for page to load completely
+     */
+    public static void waitForPageToLoad() {
+        waitForPageToLoad(WaitUtils.DEFAULT_TIMEOUT);
+    }
+    
+    /**
+     * Wait for page to load completely with custom timeout
+     * @param timeoutInSeconds Timeout in seconds
+     */
+    public static void waitForPageToLoad(int timeoutInSeconds) {
+        await(null, "ready", null, timeoutInSeconds, "document.readyState to be complete");
+    }
+    
+    /**
+     * Wait until the DOM has not changed for the given quiet period
+     * @param quietMillis Quiet period in milliseconds
+     */
+    public static void waitForDomToBeQuiet(long quietMillis) {
+        waitForDomToBeQuiet(quietMillis, WaitUtils.DEFAULT_TIMEOUT);
+    }
+    
+    /**
+     * Wait until the DOM has not changed for the given quiet period with custom timeout
+     * @param quietMillis Quiet period in milliseconds
+     * @param timeoutInSeconds Timeout in seconds
+     */
+    public static void waitForDomToBeQuiet(long quietMillis, int timeoutInSeconds) {
+        await(null, "quiet", quietMillis, timeoutInSeconds, "DOM to be quiet for " + quietMillis + " ms");
+    }
+    
+    /**
+     * Block on the wait script until the condition holds or the timeout, cut to the test's
+     * remaining time budget, expires. Waits longer than the driver's script timeout are split
+     * into several script calls.
+     * @param element WebElement the condition applies to, or null for page conditions
+     * @param condition Condition name understood by the wait script
+     * @param param Condition parameter
+     * @param timeoutInSeconds Timeout in seconds
+     * @param description Condition description used in the timeout message
+     */
+    private static void await(WebElement element, String condition, Object param, int timeoutInSeconds, String description) {
+        TestDeadline.track(condition, () -> {
+            JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
+            long timeoutMillis = TestDeadline.timeout(Duration.ofSeconds(timeoutInSeconds)).toMillis();
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            long maxChunk = Math.max(1000, TimeUnit.SECONDS.toMillis(ConfigReader.getInstance().getScriptTimeout()) - 1000);
+            
+            long remaining;
+            while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+                try {
+                    Object result = js.executeAsyncScript(WAIT_SCRIPT, element, condition, param, Math.min(remaining, maxChunk));
+                    if ("ok".equals(result)) {
+                        return null;
+                    }
+                    if ("stale".equals(result)) {
+                        throw new StaleElementReferenceException("Element is no longer attached to the DOM while waiting for " + description);
+                    }
+                } catch (ScriptTimeoutException | JavascriptException e) {
+                    // Navigation unloaded the document or the script outlived the driver timeout, try again
+                    logger.debug("Event wait interrupted, retrying: " + e.getMessage());
+                    WaitUtils.sleep(100);
+                }
+            }
+            
+            throw new TimeoutException("Expected condition failed: waiting for " + description
+                    + " (tried for " + timeoutMillis / 1000.0 + " second(s))");
+        });
+    }
+}
\ No newline at end of file
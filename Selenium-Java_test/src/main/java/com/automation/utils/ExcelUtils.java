@@ -1,6 +1,7 @@
 package com.automation.utils;
 
 import com.automation.config.ConfigReader;
+import com.automation.jfr.DataLoadEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.*;
@@ -11,9 +12,12 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Utility class for Excel operations
@@ -32,9 +36,158 @@ public class ExcelUtils {
      * @return List of maps with column names as keys and cell values as values
      */
     public static List<Map<String, String>> getExcelDataAsListOfMaps(String fileName, String sheetName) {
-        List<Map<String, String>> data = new ArrayList<>();
         String filePath = ConfigReader.getInstance().getTestDataPath() + fileName;
+        return readAsListOfMaps(filePath, sheetName, isStreaming(filePath));
+    }
+    
+    /**
+     * Get data from Excel file as a 2D array
+     * @param fileName Excel file name
+     * @param sheetName Sheet name
+     * @return 2D array of data
+     */
+    public static Object[][] getExcelDataAs2DArray(String fileName, String sheetName) {
+        String filePath = ConfigReader.getInstance().getTestDataPath() + fileName;
+        return readAs2DArray(filePath, sheetName, isStreaming(filePath));
+    }
+    
+    /**
+     * Get data from Excel file as a lazy data provider iterator. For .xlsx files rows are
+     * streamed on demand, so the first test can start before the sheet has been read and
+     * each row can be collected once its test has finished. Rows missing from the sheet
+     * are skipped. Close the iterator if it is not read to the end.
+     * @param fileName Excel file name
+     * @param sheetName Sheet name
+     * @return Iterator of data rows, without the header row
+     */
+    public static LazyDataIterator getExcelDataAsIterator(String fileName, String sheetName) {
+        String filePath = ConfigReader.getInstance().getTestDataPath() + fileName;
+        return iterate(filePath, sheetName, false);
+    }
+    
+    /**
+     * Get data from Excel file as a lazy data provider iterator of maps, each row passed to
+     * the test as a single map of column name to cell value
+     * @param fileName Excel file name
+     * @param sheetName Sheet name
+     * @return Iterator of single-element rows holding a map of column names to cell values
+     */
+    public static LazyDataIterator getExcelDataAsMapIterator(String fileName, String sheetName) {
+        String filePath = ConfigReader.getInstance().getTestDataPath() + fileName;
+        return iterate(filePath, sheetName, true);
+    }
+    
+    /**
+     * Iterate the data rows of a sheet, streaming them when the file is an .xlsx workbook
+     * @param filePath Excel file path
+     * @param sheetName Sheet name
+     * @param asMaps true to pass each row as a map of column name to cell value
+     * @return Iterator of data rows
+     */
+    static LazyDataIterator iterate(String filePath, String sheetName, boolean asMaps) {
+        if (!StreamingExcelReader.isSupported(filePath)) {
+            // Legacy .xls workbooks cannot be streamed, fall back to the workbook reader
+            List<Object[]> data = new ArrayList<>();
+            if (asMaps) {
+                for (Map<String, String> row : readAsListOfMaps(filePath, sheetName, false)) {
+                    data.add(new Object[] {row});
+                }
+            } else {
+                for (Object[] row : readAs2DArray(filePath, sheetName, false)) {
+                    // Rows missing from the sheet are left as all-null rows by the workbook reader
+                    if (Arrays.stream(row).anyMatch(Objects::nonNull)) {
+                        data.add(row);
+                    }
+                }
+            }
+            return LazyDataIterator.of(data);
+        }
+        
+        StreamingExcelReader reader = StreamingExcelReader.open(filePath, StreamingExcelReader.ValueStyle.FORMULA_TEXT);
+        StreamingExcelReader.RowIterator rows = null;
+        StreamingExcelReader.SheetRow headerRow;
+        try {
+            rows = reader.rows(sheetName);
+            if (rows == null) {
+                throw new RuntimeException("Sheet '" + sheetName + "' not found in file: " + filePath);
+            }
+            headerRow = rows.hasNext() ? rows.next() : null;
+            if (headerRow == null || headerRow.getRowNum() != 0) {
+                throw new RuntimeException("Header row not found in sheet: " + sheetName);
+            }
+        } catch (RuntimeException e) {
+            if (rows != null) {
+                rows.close();
+            }
+            reader.close();
+            throw e;
+        }
+        StreamingExcelReader.RowIterator sheetRows = rows;
+        
+        List<String> columnNames = new ArrayList<>();
+        for (int i = 0; i < headerRow.getLastCellNum(); i++) {
+            String name = headerRow.getCell(i);
+            columnNames.add(name != null ? name : "Column" + (i + 1));
+        }
+        
+        logger.info("Streaming rows on demand from Excel file: " + filePath + ", sheet: " + sheetName);
+        return new LazyDataIterator() {
+            private int count;
+            
+            @Override
+            protected Object[] readNext() {
+                if (!sheetRows.hasNext()) {
+                    return null;
+                }
+                StreamingExcelReader.SheetRow row = sheetRows.next();
+                count++;
+                if (asMaps) {
+                    Map<String, String> rowData = new HashMap<>();
+                    for (int j = 0; j < columnNames.size(); j++) {
+                        rowData.put(columnNames.get(j), row.getCellValue(j));
+                    }
+                    return new Object[] {rowData};
+                }
+                Object[] values = new Object[columnNames.size()];
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = row.getCellValue(j);
+                }
+                return values;
+            }
+            
+            @Override
+            protected void release() {
+                sheetRows.close();
+                reader.close();
+                logger.info("Streamed " + count + " rows from Excel file: " + filePath + ", sheet: " + sheetName);
+            }
+        };
+    }
+    
+    /**
+     * Read a sheet as a list of maps
+     * @param filePath Excel file path
+     * @param sheetName Sheet name
+     * @param streaming true to stream the sheet, false to load the workbook
+     * @return List of maps with column names as keys and cell values as values
+     */
+    static List<Map<String, String>> readAsListOfMaps(String filePath, String sheetName, boolean streaming) {
+        DataLoadEvent event = new DataLoadEvent();
+        event.begin();
+        List<Map<String, String>> data = streaming ? streamAsListOfMaps(filePath, sheetName) : loadAsListOfMaps(filePath, sheetName);
+        commitLoad(event, filePath, sheetName, streaming, data.size());
+        return data;
+    }
+    
+    /**
+     * Read a sheet as a list of maps by loading the workbook
+     * @param filePath Excel file path
+     * @param sheetName Sheet name
+     * @return List of maps with column names as keys and cell values as values
+     */
+    private static List<Map<String, String>> loadAsListOfMaps(String filePath, String sheetName) {
         
+        List<Map<String, String>> data = new ArrayList<>();
         try (FileInputStream fis = new FileInputStream(filePath);
              Workbook workbook = WorkbookFactory.create(fis)) {
             
@@ -84,13 +237,27 @@ public class ExcelUtils {
     }
     
     /**
-     * Get data from Excel file as a 2D array
-     * @param fileName Excel file name
+     * Read a sheet as a 2D array, without the header row
+     * @param filePath Excel file path
      * @param sheetName Sheet name
+     * @param streaming true to stream the sheet, false to load the workbook
      * @return 2D array of data
      */
-    public static Object[][] getExcelDataAs2DArray(String fileName, String sheetName) {
-        String filePath = ConfigReader.getInstance().getTestDataPath() + fileName;
+    static Object[][] readAs2DArray(String filePath, String sheetName, boolean streaming) {
+        DataLoadEvent event = new DataLoadEvent();
+        event.begin();
+        Object[][] data = streaming ? streamAs2DArray(filePath, sheetName) : loadAs2DArray(filePath, sheetName);
+        commitLoad(event, filePath, sheetName, streaming, data.length);
+        return data;
+    }
+    
+    /**
+     * Read a sheet as a 2D array by loading the workbook
+     * @param filePath Excel file path
+     * @param sheetName Sheet name
+     * @return 2D array of data
+     */
+    private static Object[][] loadAs2DArray(String filePath, String sheetName) {
         
         try (FileInputStream fis = new FileInputStream(filePath);
              Workbook workbook = WorkbookFactory.create(fis)) {
@@ -124,6 +291,167 @@ public class ExcelUtils {
         }
     }
     
+    /**
+     * Stream a sheet as a list of maps, converting each row as it is read. When snapshots are
+     * enabled the rows come from the workbook's binary snapshot instead.
+     * @param filePath Excel file path
+     * @param sheetName Sheet name
+     * @return List of maps with column names as keys and cell values as values
+     */
+    private static List<Map<String, String>> streamAsListOfMaps(String filePath, String sheetName) {
+        List<Map<String, String>> data;
+        
+        if (SheetSnapshotCache.getInstance().isEnabled()) {
+            data = toListOfMaps(snapshotRows(filePath, sheetName), sheetName);
+        } else {
+            try (StreamingExcelReader reader = StreamingExcelReader.open(filePath, StreamingExcelReader.ValueStyle.FORMULA_TEXT);
+                 StreamingExcelReader.RowIterator rows = reader.rows(sheetName)) {
+                
+                if (rows == null) {
+                    throw new RuntimeException("Sheet '" + sheetName + "' not found in file: " + filePath);
+                }
+                data = toListOfMaps(rows, sheetName);
+            }
+        }
+        
+        logger.info("Streamed " + data.size() + " rows from Excel file: " + filePath + ", sheet: " + sheetName);
+        return data;
+    }
+    
+    /**
+     * Stream a sheet as a 2D array, without the header row. When snapshots are enabled the
+     * rows come from the workbook's binary snapshot instead.
+     * @param filePath Excel file path
+     * @param sheetName Sheet name
+     * @return 2D array of data
+     */
+    private static Object[][] streamAs2DArray(String filePath, String sheetName) {
+        Object[][] data;
+        
+        if (SheetSnapshotCache.getInstance().isEnabled()) {
+            data = to2DArray(snapshotRows(filePath, sheetName), sheetName);
+        } else {
+            try (StreamingExcelReader reader = StreamingExcelReader.open(filePath, StreamingExcelReader.ValueStyle.FORMULA_TEXT);
+                 StreamingExcelReader.RowIterator rows = reader.rows(sheetName)) {
+                
+                if (rows == null) {
+                    throw new RuntimeException("Sheet '" + sheetName + "' not found in file: " + filePath);
+                }
+                data = to2DArray(rows, sheetName);
+            }
+        }
+        
+        logger.info("Streamed " + data.length + " rows from Excel file: " + filePath + ", sheet: " + sheetName);
+        return data;
+    }
+    
+    /**
+     * Get the rows of a sheet from the workbook's snapshot
+     * @param filePath Excel file path
+     * @param sheetName Sheet name
+     * @return Rows present in the sheet
+     */
+    private static Iterator<StreamingExcelReader.SheetRow> snapshotRows(String filePath, String sheetName) {
+        List<StreamingExcelReader.SheetRow> rows = SheetSnapshotCache.getInstance()
+                .load(filePath, StreamingExcelReader.ValueStyle.FORMULA_TEXT).getRows(sheetName);
+        if (rows == null) {
+            throw new RuntimeException("Sheet '" + sheetName + "' not found in file: " + filePath);
+        }
+        return rows.iterator();
+    }
+    
+    /**
+     * Convert sheet rows to a list of maps keyed by the header row
+     * @param rows Rows present in the sheet
+     * @param sheetName Sheet name
+     * @return List of maps with column names as keys and cell values as values
+     */
+    private static List<Map<String, String>> toListOfMaps(Iterator<StreamingExcelReader.SheetRow> rows, String sheetName) {
+        List<Map<String, String>> data = new ArrayList<>();
+        
+        // Get header row
+        StreamingExcelReader.SheetRow headerRow = rows.hasNext() ? rows.next() : null;
+        if (headerRow == null || headerRow.getRowNum() != 0) {
+            throw new RuntimeException("Header row not found in sheet: " + sheetName);
+        }
+        
+        // Get column names
+        List<String> columnNames = new ArrayList<>();
+        for (int i = 0; i < headerRow.getLastCellNum(); i++) {
+            String name = headerRow.getCell(i);
+            columnNames.add(name != null ? name : "Column" + (i + 1));
+        }
+        
+        // Get data rows
+        while (rows.hasNext()) {
+            StreamingExcelReader.SheetRow row = rows.next();
+            Map<String, String> rowData = new HashMap<>();
+            for (int j = 0; j < columnNames.size(); j++) {
+                rowData.put(columnNames.get(j), row.getCellValue(j));
+            }
+            data.add(rowData);
+        }
+        return data;
+    }
+    
+    /**
+     * Convert sheet rows to a 2D array, without the header row
+     * @param rows Rows present in the sheet
+     * @param sheetName Sheet name
+     * @return 2D array of data
+     */
+    private static Object[][] to2DArray(Iterator<StreamingExcelReader.SheetRow> rows, String sheetName) {
+        List<Object[]> rowsByIndex = new ArrayList<>();
+        
+        StreamingExcelReader.SheetRow headerRow = rows.hasNext() ? rows.next() : null;
+        if (headerRow == null || headerRow.getRowNum() != 0) {
+            throw new RuntimeException("Header row not found in sheet: " + sheetName);
+        }
+        int colCount = headerRow.getLastCellNum();
+        
+        while (rows.hasNext()) {
+            StreamingExcelReader.SheetRow row = rows.next();
+            // Missing rows stay as rows of nulls, as in the workbook-based reader
+            while (rowsByIndex.size() < row.getRowNum() - 1) {
+                rowsByIndex.add(new Object[colCount]);
+            }
+            Object[] values = new Object[colCount];
+            for (int j = 0; j < colCount; j++) {
+                values[j] = row.getCellValue(j);
+            }
+            rowsByIndex.add(values);
+        }
+        return rowsByIndex.toArray(new Object[0][]);
+    }
+    
+    /**
+     * Check if reads of a file should be streamed
+     * @param filePath Excel file path
+     * @return true if streaming is enabled and the file is an .xlsx workbook
+     */
+    private static boolean isStreaming(String filePath) {
+        return "streaming".equalsIgnoreCase(ConfigReader.getInstance().getExcelReaderMode())
+                && StreamingExcelReader.isSupported(filePath);
+    }
+    
+    /**
+     * Commit a data load event, if JFR is recording it
+     * @param event Event begun before the load
+     * @param filePath Excel file path
+     * @param sheetName Sheet name
+     * @param streaming true if the sheet was streamed
+     * @param rowsRead Number of data rows read
+     */
+    private static void commitLoad(DataLoadEvent event, String filePath, String sheetName, boolean streaming, int rowsRead) {
+        if (event.shouldCommit()) {
+            event.filePath = filePath;
+            event.sheetName = sheetName;
+            event.reader = !streaming ? "dom" : SheetSnapshotCache.getInstance().isEnabled() ? "snapshot" : "streaming";
+            event.rowsRead = rowsRead;
+            event.commit();
+        }
+    }
+    
     /**
      * Write data to Excel file
      * @param fileName Excel file name
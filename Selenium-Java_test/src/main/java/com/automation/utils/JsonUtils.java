@@ -1,6 +1,8 @@
 package com.automation.utils;
 
 import com.automation.config.ConfigReader;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
@@ -30,15 +32,7 @@ public class JsonUtils {
      * @return JsonNode
      */
     public static JsonNode readJsonFile(String fileName) {
-        String filePath = ConfigReader.getInstance().getTestDataPath() + fileName;
-        
-        try {
-            File file = new File(filePath);
-            return objectMapper.readTree(file);
-        } catch (IOException e) {
-            logger.error("Failed to read JSON file: " + e.getMessage());
-            throw new RuntimeException("Failed to read JSON file: " + e.getMessage());
-        }
+        return readTree(ConfigReader.getInstance().getTestDataPath() + fileName);
     }
     
     /**
@@ -48,33 +42,64 @@ public class JsonUtils {
      * @return List of maps with JSON data
      */
     public static List<Map<String, Object>> getJsonDataAsListOfMaps(String fileName, String nodeName) {
-        JsonNode rootNode = readJsonFile(fileName);
+        return readAsListOfMaps(ConfigReader.getInstance().getTestDataPath() + fileName, nodeName);
+    }
+    
+    /**
+     * Get data from JSON file as a 2D array
+     * @param fileName JSON file name
+     * @param nodeName Node name
+     * @return 2D array of data
+     */
+    public static Object[][] getJsonDataAs2DArray(String fileName, String nodeName) {
+        return readAs2DArray(ConfigReader.getInstance().getTestDataPath() + fileName, nodeName);
+    }
+    
+    /**
+     * Get data from JSON file as a lazy data provider iterator. The file is read with a
+     * streaming parser and each array item is only parsed when TestNG asks for the next row,
+     * so the first test can start right away and finished rows can be collected. Close the
+     * iterator if it is not read to the end.
+     * @param fileName JSON file name
+     * @param nodeName Name of a top-level array node
+     * @return Iterator of single-element rows holding a map of the item's fields
+     */
+    public static LazyDataIterator getJsonDataAsIterator(String fileName, String nodeName) {
+        return iterate(ConfigReader.getInstance().getTestDataPath() + fileName, nodeName);
+    }
+    
+    /**
+     * Read an array node as a list of maps
+     * @param filePath JSON file path
+     * @param nodeName Node name
+     * @return List of maps with JSON data
+     */
+    static List<Map<String, Object>> readAsListOfMaps(String filePath, String nodeName) {
+        JsonNode rootNode = readTree(filePath);
         JsonNode dataNode = rootNode.get(nodeName);
         
         if (dataNode == null || !dataNode.isArray()) {
-            throw new RuntimeException("Node '" + nodeName + "' not found or is not an array in file: " + fileName);
+            throw new RuntimeException("Node '" + nodeName + "' not found or is not an array in file: " + filePath);
         }
         
         List<Map<String, Object>> data = new ArrayList<>();
         
         for (JsonNode node : dataNode) {
-            Map<String, Object> map = new HashMap<>();
-            node.fields().forEachRemaining(entry -> map.put(entry.getKey(), getNodeValue(entry.getValue())));
-            data.add(map);
+            data.add(toMap(node));
         }
         
-        logger.info("Read " + data.size() + " items from JSON file: " + fileName + ", node: " + nodeName);
+        logger.info("Read " + data.size() + " items from JSON file: " + filePath + ", node: " + nodeName);
         return data;
     }
     
     /**
-     * Get data from JSON file as a 2D array
-     * @param fileName JSON file name
+     * Read an array node as a 2D array with one map per row
+     * @param filePath JSON file path
      * @param nodeName Node name
      * @return 2D array of data
      */
-    public static Object[][] getJsonDataAs2DArray(String fileName, String nodeName) {
-        List<Map<String, Object>> data = getJsonDataAsListOfMaps(fileName, nodeName);
+    static Object[][] readAs2DArray(String filePath, String nodeName) {
+        List<Map<String, Object>> data = readAsListOfMaps(filePath, nodeName);
         Object[][] result = new Object[data.size()][1];
         
         for (int i = 0; i < data.size(); i++) {
@@ -84,6 +109,118 @@ public class JsonUtils {
         return result;
     }
     
+    /**
+     * Stream the items of a top-level array node. The parser is positioned on the array
+     * right away so a missing node fails the data provider rather than the first test.
+     * @param filePath JSON file path
+     * @param nodeName Name of a top-level array node
+     * @return Iterator of single-element rows holding a map of the item's fields
+     */
+    static LazyDataIterator iterate(String filePath, String nodeName) {
+        JsonParser parser = null;
+        boolean found;
+        try {
+            parser = objectMapper.getFactory().createParser(new File(filePath));
+            found = seekToArray(parser, nodeName);
+        } catch (IOException e) {
+            if (parser != null) {
+                closeQuietly(parser);
+            }
+            logger.error("Failed to read JSON file: " + e.getMessage());
+            throw new RuntimeException("Failed to read JSON file: " + e.getMessage());
+        }
+        if (!found) {
+            closeQuietly(parser);
+            throw new RuntimeException("Node '" + nodeName + "' not found or is not an array in file: " + filePath);
+        }
+        
+        JsonParser itemParser = parser;
+        
+        logger.info("Streaming items on demand from JSON file: " + filePath + ", node: " + nodeName);
+        return new LazyDataIterator() {
+            private int count;
+            
+            @Override
+            protected Object[] readNext() {
+                try {
+                    JsonToken token = itemParser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        return null;
+                    }
+                    count++;
+                    return new Object[] {toMap(objectMapper.readTree(itemParser))};
+                } catch (IOException e) {
+                    logger.error("Failed to read JSON file: " + e.getMessage());
+                    throw new RuntimeException("Failed to read JSON file: " + e.getMessage());
+                }
+            }
+            
+            @Override
+            protected void release() {
+                closeQuietly(itemParser);
+                logger.info("Streamed " + count + " items from JSON file: " + filePath + ", node: " + nodeName);
+            }
+        };
+    }
+    
+    /**
+     * Read JSON file at a path and return as JsonNode
+     * @param filePath JSON file path
+     * @return JsonNode
+     */
+    private static JsonNode readTree(String filePath) {
+        try {
+            return objectMapper.readTree(new File(filePath));
+        } catch (IOException e) {
+            logger.error("Failed to read JSON file: " + e.getMessage());
+            throw new RuntimeException("Failed to read JSON file: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Advance the parser to the start of a top-level array field, skipping other fields
+     * @param parser JSON parser positioned before the root object
+     * @param nodeName Field name
+     * @return true if the parser is now on the array start
+     */
+    private static boolean seekToArray(JsonParser parser, String nodeName) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (nodeName.equals(name)) {
+                return value == JsonToken.START_ARRAY;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+    
+    /**
+     * Close a parser, ignoring errors
+     * @param parser JSON parser
+     */
+    private static void closeQuietly(JsonParser parser) {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close JSON parser: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Convert an object node to a map of its fields
+     * @param node JsonNode
+     * @return Map of field names to values
+     */
+    private static Map<String, Object> toMap(JsonNode node) {
+        Map<String, Object> map = new HashMap<>();
+        node.fields().forEachRemaining(entry -> map.put(entry.getKey(), getNodeValue(entry.getValue())));
+        return map;
+    }
+    
     /**
      * Get value from JsonNode
      * @param node JsonNode
@@ -107,9 +244,7 @@ public class JsonUtils {
             node.forEach(item -> list.add(getNodeValue(item)));
             return list;
         } else if (node.isObject()) {
-            Map<String, Object> map = new HashMap<>();
-            node.fields().forEachRemaining(entry -> map.put(entry.getKey(), getNodeValue(entry.getValue())));
-            return map;
+            return toMap(node);
         } else {
             return node.toString();
         }
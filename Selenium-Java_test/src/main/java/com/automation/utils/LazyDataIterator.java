@@ -0,0 +1,111 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data provider iterator that reads the next row only when TestNG asks for it and releases
+ * the underlying file as soon as the last row has been read or reading fails. Code that may
+ * stop before the last row must close it, preferably with try-with-resources. TestNG never
+ * closes a data provider, so iterators it leaves unfinished are closed by
+ * {@link #closeAbandoned()} at the end of the suite.
+ */
+public abstract class LazyDataIterator implements Iterator<Object[]>, Closeable {
+    private static final Logger logger = LogManager.getLogger(LazyDataIterator.class);
+    private static final Set<LazyDataIterator> open = ConcurrentHashMap.newKeySet();
+    
+    private Object[] nextRow;
+    private boolean finished;
+    
+    protected LazyDataIterator() {
+        open.add(this);
+    }
+    
+    /**
+     * Iterate rows that have already been read
+     * @param rows Data provider rows
+     * @return Iterator over the rows
+     */
+    static LazyDataIterator of(List<Object[]> rows) {
+        Iterator<Object[]> iterator = rows.iterator();
+        return new LazyDataIterator() {
+            @Override
+            protected Object[] readNext() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+            
+            @Override
+            protected void release() {
+                // Nothing to release
+            }
+        };
+    }
+    
+    /**
+     * Close every iterator that was not read to the end or closed, such as data providers
+     * whose remaining rows TestNG skipped
+     */
+    public static void closeAbandoned() {
+        int count = 0;
+        for (LazyDataIterator iterator : open) {
+            iterator.close();
+            count++;
+        }
+        if (count > 0) {
+            logger.info("Closed " + count + " unfinished data provider iterator(s)");
+        }
+    }
+    
+    @Override
+    public synchronized boolean hasNext() {
+        if (nextRow == null && !finished) {
+            try {
+                nextRow = readNext();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            if (nextRow == null) {
+                close();
+            }
+        }
+        return nextRow != null;
+    }
+    
+    @Override
+    public synchronized Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] row = nextRow;
+        nextRow = null;
+        return row;
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (!finished) {
+            finished = true;
+            open.remove(this);
+            release();
+        }
+    }
+    
+    /**
+     * Read the next row
+     * @return Data provider parameters for the next row, or null when there are no more rows
+     */
+    protected abstract Object[] readNext();
+    
+    /**
+     * Release the underlying file
+     */
+    protected abstract void release();
+}
\ No newline at end of file
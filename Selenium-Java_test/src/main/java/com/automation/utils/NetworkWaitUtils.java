@@ -0,0 +1,177 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigReader;
+import com.automation.core.DocumentStartScripts;
+import com.automation.core.DriverManager;
+import com.automation.core.TestDeadline;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Network-quiescence waits. A small shim wraps fetch() and XMLHttpRequest to count in-flight
+ * requests, and the wait returns once there have been zero in-flight requests for the idle
+ * window. On Chromium the shim is registered as a {@link DocumentStartScripts document start
+ * script}, so it is present before the page's own requests; on other browsers, and in tabs the
+ * test opens itself, it is injected on the first wait for each document.
+ */
+public class NetworkWaitUtils {
+    private static final Logger logger = LogManager.getLogger(NetworkWaitUtils.class);
+    
+    private static final String SHIM_SCRIPT =
+            "if (!window.__automationNetwork) {" +
+            "  var net = window.__automationNetwork = { inflight: 0, last: Date.now() };" +
+            "  var begin = function() { net.inflight++; net.last = Date.now(); };" +
+            "  var end = function() { net.inflight = Math.max(0, net.inflight - 1); net.last = Date.now(); };" +
+            "  if (window.fetch) {" +
+            "    var originalFetch = window.fetch;" +
+            "    window.fetch = function() {" +
+            "      begin();" +
+            "      try {" +
+            "        return originalFetch.apply(this, arguments).then(" +
+            "            function(response) { end(); return response; }," +
+            "            function(error) { end(); throw error; });" +
+            "      } catch (error) { end(); throw error; }" +
+            "    };" +
+            "  }" +
+            "  var originalSend = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function() {" +
+            "    var finished = false;" +
+            "    var finish = function() { if (!finished) { finished = true; end(); } };" +
+            "    begin();" +
+            "    this.addEventListener('loadend', finish);" +
+            "    try { return originalSend.apply(this, arguments); } catch (error) { finish(); throw error; }" +
+            "  };" +
+            "}";
+    
+    /**
+     * Arguments: idle window in ms, timeout in ms, callback. Calls back with [status, inflight, page].
+     */
+    private static final String WAIT_SCRIPT = SHIM_SCRIPT +
+            "var net = window.__automationNetwork, idle = arguments[0], timeout = arguments[1];" +
+            "var done = arguments[arguments.length - 1], start = Date.now(), page = location.host + location.pathname;" +
+            "(function poll() {" +
+            "  var now = Date.now();" +
+            "  if (net.inflight === 0 && now - net.last >= idle) return done(['ok', 0, page]);" +
+            "  if (now - start >= timeout) return done(['timeout', net.inflight, page]);" +
+            "  setTimeout(poll, 25);" +
+            "})();";
+    
+    private static final Map<String, long[]> waitTimes = new TreeMap<>();
+    
+    private NetworkWaitUtils() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Wait for network to be idle using the configured idle window and default timeout
+     * @return Time spent waiting in milliseconds
+     */
+    public static long waitForNetworkIdle() {
+        return waitForNetworkIdle(DriverManager.getDriver());
+    }
+    
+    /**
+     * Wait for network to be idle using the configured idle window and default timeout
+     * @param driver WebDriver instance
+     * @return Time spent waiting in milliseconds
+     */
+    public static long waitForNetworkIdle(WebDriver driver) {
+        return waitForNetworkIdle(driver, ConfigReader.getInstance().getNetworkIdleMillis(), WaitUtils.DEFAULT_TIMEOUT);
+    }
+    
+    /**
+     * Wait until there have been no in-flight fetch/XHR requests for the idle window
+     * @param driver WebDriver instance
+     * @param idleMillis Idle window in milliseconds
+     * @param timeoutInSeconds Timeout in seconds
+     * @return Time spent waiting in milliseconds
+     */
+    public static long waitForNetworkIdle(WebDriver driver, long idleMillis, int timeoutInSeconds) {
+        return TestDeadline.track("networkIdle", () -> awaitNetworkIdle(driver, idleMillis, timeoutInSeconds));
+    }
+    
+    /**
+     * Poll the idle script until the idle window is reached or the timeout, cut to the test's
+     * remaining time budget, expires
+     * @param driver WebDriver instance
+     * @param idleMillis Idle window in milliseconds
+     * @param timeoutInSeconds Timeout in seconds
+     * @return Time spent waiting in milliseconds
+     */
+    private static long awaitNetworkIdle(WebDriver driver, long idleMillis, int timeoutInSeconds) {
+        DocumentStartScripts.add(driver, SHIM_SCRIPT);
+        
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long start = System.currentTimeMillis();
+        long timeoutMillis = TestDeadline.timeout(Duration.ofSeconds(timeoutInSeconds)).toMillis();
+        long deadline = start + timeoutMillis;
+        long maxChunk = Math.max(1000, TimeUnit.SECONDS.toMillis(ConfigReader.getInstance().getScriptTimeout()) - 1000);
+        Object inflight = "unknown";
+        String page = "unknown";
+        
+        try {
+            long remaining;
+            while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+                try {
+                    List<?> result = (List<?>) js.executeAsyncScript(WAIT_SCRIPT, idleMillis, Math.min(remaining, maxChunk));
+                    page = String.valueOf(result.get(2));
+                    if ("ok".equals(result.get(0))) {
+                        return System.currentTimeMillis() - start;
+                    }
+                    inflight = result.get(1);
+                } catch (ScriptTimeoutException | JavascriptException e) {
+                    // Navigation unloaded the document, the next attempt re-injects the shim
+                    logger.debug("Network idle wait interrupted, retrying: " + e.getMessage());
+                    WaitUtils.sleep(100);
+                }
+            }
+            throw new TimeoutException("Network did not become idle for " + idleMillis + " ms within "
+                    + timeoutMillis / 1000.0 + " second(s), in-flight requests: " + inflight);
+        } finally {
+            record(page, System.currentTimeMillis() - start);
+        }
+    }
+    
+    /**
+     * Get time spent in network idle waits, per page
+     * @return One line per page with wait count, total and maximum time
+     */
+    public static String getWaitTimeSummary() {
+        StringBuilder summary = new StringBuilder();
+        synchronized (waitTimes) {
+            for (Map.Entry<String, long[]> entry : waitTimes.entrySet()) {
+                long[] times = entry.getValue();
+                summary.append(String.format("%s: %d wait(s), total %d ms, max %d ms%n",
+                        entry.getKey(), times[0], times[1], times[2]));
+            }
+        }
+        return summary.toString();
+    }
+    
+    /**
+     * Record time spent waiting against a page
+     * @param page Page host and path
+     * @param millis Time spent waiting in milliseconds
+     */
+    private static void record(String page, long millis) {
+        logger.info("Waited " + millis + " ms for network idle on " + page);
+        
+        synchronized (waitTimes) {
+            long[] times = waitTimes.computeIfAbsent(page, k -> new long[3]);
+            times[0]++;
+            times[1] += millis;
+            times[2] = Math.max(times[2], millis);
+        }
+    }
+}
\ No newline at end of file
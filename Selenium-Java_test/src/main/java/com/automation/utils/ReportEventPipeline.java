@@ -0,0 +1,268 @@
+package com.automation.utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer of report events. Test threads publish
+ * events without taking a lock and a single writer thread applies them to their ExtentTest
+ * nodes in the order they were published.
+ */
+final class ReportEventPipeline {
+    private static final Logger logger = LogManager.getLogger(ReportEventPipeline.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    
+    /**
+     * What a publishing thread does when the buffer is full
+     */
+    enum Backpressure {
+        /** Wait until the writer frees a slot */
+        BLOCK,
+        /** Discard INFO and PASS events and count them; other events still wait */
+        DROP
+    }
+    
+    /**
+     * Log event captured on the test thread
+     */
+    static final class Event {
+        final ExtentTest test;
+        final Status status;
+        final String message;
+        final String screenshotPath;
+        
+        Event(ExtentTest test, Status status, String message, String screenshotPath) {
+            this.test = test;
+            this.status = status;
+            this.message = message;
+            this.screenshotPath = screenshotPath;
+        }
+    }
+    
+    private final int capacity;
+    private final int mask;
+    private final Event[] events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private volatile long processed;
+    
+    private final Backpressure backpressure;
+    private final Consumer<Event> handler;
+    private final Thread writer;
+    private volatile boolean writerParked;
+    private volatile boolean running = true;
+    
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder enqueueNanos = new LongAdder();
+    private final AtomicLong maxEnqueueNanos = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+    
+    /**
+     * Create the pipeline and start its writer thread
+     * @param requestedCapacity Minimum number of buffered events, rounded up to a power of two
+     * @param backpressure Policy when the buffer is full
+     * @param handler Applies one event to the report
+     */
+    ReportEventPipeline(int requestedCapacity, Backpressure backpressure, Consumer<Event> handler) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.events = new Event[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.backpressure = backpressure;
+        this.handler = handler;
+        this.writer = new Thread(this::runWriter, "report-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    /**
+     * Publish an event for the writer thread. Failures, warnings and steps with a screenshot
+     * are never dropped, since the report would lose why a test failed.
+     * @param event Event to publish
+     * @return true if the event was queued, false if it was dropped
+     */
+    boolean publish(Event event) {
+        long start = System.nanoTime();
+        boolean queued = offer(event);
+        boolean block = backpressure == Backpressure.BLOCK || !isDroppable(event);
+        while (!queued && block) {
+            wakeWriter();
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            queued = offer(event);
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        if (!queued) {
+            dropped.increment();
+            return false;
+        }
+        
+        published.increment();
+        enqueueNanos.add(elapsed);
+        updateMax(maxEnqueueNanos, elapsed);
+        updateMax(maxDepth, getQueueDepth());
+        if (writerParked) {
+            wakeWriter();
+        }
+        return true;
+    }
+    
+    /**
+     * Wait until every event published before this call has been applied
+     * @param timeoutMillis Maximum time to wait
+     * @return true if the pipeline was drained within the timeout
+     */
+    boolean drain(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (processed < target) {
+            if (System.nanoTime() - deadline > 0) {
+                logger.warn("Report pipeline not drained after " + timeoutMillis + " ms, "
+                        + (target - processed) + " event(s) pending");
+                return false;
+            }
+            wakeWriter();
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+        return true;
+    }
+    
+    /**
+     * Drain the pipeline and stop its writer thread
+     * @param timeoutMillis Maximum time to wait for pending events
+     */
+    void close(long timeoutMillis) {
+        drain(timeoutMillis);
+        running = false;
+        wakeWriter();
+    }
+    
+    /**
+     * Get number of events waiting for the writer thread
+     * @return Current queue depth
+     */
+    long getQueueDepth() {
+        return Math.min(capacity, Math.max(0, tail.get() - head));
+    }
+    
+    /**
+     * Get highest queue depth seen by a publishing thread
+     * @return Maximum queue depth
+     */
+    long getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+    
+    /**
+     * Get average time a test thread spent publishing an event
+     * @return Average enqueue latency in microseconds
+     */
+    double getAverageEnqueueMicros() {
+        long count = published.sum();
+        return count == 0 ? 0.0 : enqueueNanos.sum() / 1000.0 / count;
+    }
+    
+    /**
+     * Get longest time a test thread spent publishing an event
+     * @return Maximum enqueue latency in microseconds
+     */
+    double getMaxEnqueueMicros() {
+        return maxEnqueueNanos.get() / 1000.0;
+    }
+    
+    /**
+     * Get a one-line summary of pipeline statistics
+     * @return Pipeline statistics
+     */
+    String getStats() {
+        return String.format("Report events: %d published, %d dropped, %d failed, capacity: %d (%s), "
+                        + "queue depth current/max: %d/%d, enqueue latency avg/max: %.1f/%.1f us",
+                published.sum(), dropped.sum(), failed.sum(), capacity, backpressure.name().toLowerCase(),
+                getQueueDepth(), getMaxQueueDepth(), getAverageEnqueueMicros(), getMaxEnqueueMicros());
+    }
+    
+    private static boolean isDroppable(Event event) {
+        return (event.status == Status.INFO || event.status == Status.PASS) && event.screenshotPath == null;
+    }
+    
+    private boolean offer(Event event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events[index] = event;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+    
+    private Event poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        Event event = events[index];
+        events[index] = null;
+        sequences.set(index, position + capacity);
+        head = position + 1;
+        return event;
+    }
+    
+    private void runWriter() {
+        while (running) {
+            Event event = poll();
+            if (event == null) {
+                writerParked = true;
+                if (tail.get() == head) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+                continue;
+            }
+            
+            try {
+                handler.accept(event);
+            } catch (Exception e) {
+                failed.increment();
+                logger.error("Failed to write report event: " + e.getMessage());
+            }
+            processed = head;
+        }
+    }
+    
+    private void wakeWriter() {
+        LockSupport.unpark(writer);
+    }
+    
+    private static void updateMax(AtomicLong max, long value) {
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+}
\ No newline at end of file
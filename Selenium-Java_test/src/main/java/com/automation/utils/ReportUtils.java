@@ -1,20 +1,25 @@
 package com.automation.utils;
 
 import com.automation.config.ConfigReader;
+import com.automation.core.CommandTimings;
+import com.automation.jfr.ReportFlushEvent;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Utility class for Extent Reports
@@ -22,8 +27,13 @@ import java.util.Map;
 public class ReportUtils {
     private static final Logger logger = LogManager.getLogger(ReportUtils.class);
     private static ExtentReports extentReports;
-    private static final Map<Long, ExtentTest> testMap = new HashMap<>();
+    private static final ThreadLocal<ExtentTest> currentTest = new ThreadLocal<>();
     private static final String DEFAULT_TEST_NAME = "Test";
+    private static final long DRAIN_TIMEOUT_MILLIS = 30000;
+    private static final int COMMAND_TIMING_ROWS = 50;
+    private static String reportDirectory;
+    private static ExtentTest commandTimingTest;
+    private static volatile ReportEventPipeline pipeline;
     
     private ReportUtils() {
         // Private constructor to prevent instantiation
@@ -33,6 +43,14 @@ public class ReportUtils {
      * Initialize Extent Reports
      */
     public static synchronized void initializeExtentReport() {
+        initializeExtentReport(ConfigReader.getInstance().isReportAsyncEnabled());
+    }
+    
+    /**
+     * Initialize Extent Reports
+     * @param asyncWriter Whether steps are written by a background thread
+     */
+    static synchronized void initializeExtentReport(boolean asyncWriter) {
         if (extentReports == null) {
             String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
             String reportDir = ConfigReader.getInstance().getExtentReportPath();
@@ -44,6 +62,7 @@ public class ReportUtils {
             }
             
             String reportPath = reportDir + reportName;
+            reportDirectory = reportDir;
             
             ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
             sparkReporter.config().setDocumentTitle(ConfigReader.getInstance().getProperty("extent.report.title", "Automation Report"));
@@ -58,7 +77,15 @@ public class ReportUtils {
             extentReports.setSystemInfo("Browser", ConfigReader.getInstance().getBrowser());
             extentReports.setSystemInfo("Environment", "QA");
             
-            logger.info("Extent Report initialized at: " + reportPath);
+            if (asyncWriter) {
+                ReportEventPipeline.Backpressure backpressure = ReportEventPipeline.Backpressure.valueOf(
+                        ConfigReader.getInstance().getReportQueueBackpressure().toUpperCase());
+                pipeline = new ReportEventPipeline(ConfigReader.getInstance().getReportQueueCapacity(),
+                        backpressure, ReportUtils::apply);
+            }
+            
+            logger.info("Extent Report initialized at: " + reportPath
+                    + (pipeline != null ? " (asynchronous writer)" : ""));
         }
     }
     
@@ -73,35 +100,116 @@ public class ReportUtils {
         }
         
         ExtentTest test = extentReports.createTest(testName, description);
-        testMap.put(Thread.currentThread().getId(), test);
+        currentTest.set(test);
+    }
+    
+    /**
+     * End the current thread's test so that the thread no longer logs to it
+     */
+    public static void endTest() {
+        currentTest.remove();
+    }
+    
+    /**
+     * Discard the current report without writing it, stopping its background writer
+     */
+    static synchronized void reset() {
+        if (pipeline != null) {
+            pipeline.close(DRAIN_TIMEOUT_MILLIS);
+            pipeline = null;
+        }
+        extentReports = null;
     }
     
     /**
      * Get the current test
      * @return ExtentTest instance
      */
-    private static synchronized ExtentTest getTest() {
-        Long threadId = Thread.currentThread().getId();
-        ExtentTest test = testMap.get(threadId);
+    private static ExtentTest getTest() {
+        ExtentTest test = currentTest.get();
         
         // If test is null, create a default test to prevent NullPointerException
         if (test == null) {
-            String methodName = Thread.currentThread().getStackTrace()[3].getMethodName();
-            test = extentReports.createTest(methodName != null ? methodName : DEFAULT_TEST_NAME);
-            testMap.put(threadId, test);
-            logger.warn("Created default test for thread: " + threadId + " as no test was found");
+            test = createDefaultTest();
+            currentTest.set(test);
         }
         
         return test;
     }
     
+    /**
+     * Create a test for a thread that logs without calling createTest, named after the
+     * TestNG method running on the thread
+     * @return ExtentTest instance
+     */
+    private static synchronized ExtentTest createDefaultTest() {
+        if (extentReports == null) {
+            initializeExtentReport();
+        }
+        
+        ITestResult result = Reporter.getCurrentTestResult();
+        String testName = result != null ? result.getMethod().getMethodName() : DEFAULT_TEST_NAME;
+        logger.warn("Created default test " + testName + " for thread: " + Thread.currentThread().getName()
+                + " as no test was found");
+        return extentReports.createTest(testName);
+    }
+    
+    /**
+     * Write a step to a test, through the asynchronous writer when it is enabled
+     * @param test Test to log to
+     * @param status Step status
+     * @param message Step message
+     * @param screenshotPath Path to screenshot, or null
+     */
+    private static void write(ExtentTest test, Status status, String message, String screenshotPath) {
+        ReportEventPipeline events = pipeline;
+        if (events != null) {
+            events.publish(new ReportEventPipeline.Event(test, status, message, screenshotPath));
+        } else {
+            apply(new ReportEventPipeline.Event(test, status, message, screenshotPath));
+        }
+    }
+    
+    /**
+     * Apply a step to its test
+     * @param event Step to apply
+     */
+    private static void apply(ReportEventPipeline.Event event) {
+        if (event.screenshotPath == null) {
+            event.test.log(event.status, event.message);
+            return;
+        }
+        
+        try {
+            event.test.fail(event.message, MediaEntityBuilder.createScreenCaptureFromPath(toReportLink(event.screenshotPath)).build());
+        } catch (Exception e) {
+            event.test.log(Status.FAIL, event.message);
+            logger.error("Failed to attach screenshot to report: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Convert a screenshot path to a link relative to the report, so the report can be moved
+     * together with its screenshots
+     * @param screenshotPath Path to screenshot
+     * @return Link to the screenshot
+     */
+    private static String toReportLink(String screenshotPath) {
+        if (reportDirectory == null) {
+            return screenshotPath;
+        }
+        Path reportDir = Paths.get(reportDirectory).toAbsolutePath().normalize();
+        Path screenshot = Paths.get(screenshotPath).toAbsolutePath().normalize();
+        return reportDir.relativize(screenshot).toString().replace(File.separatorChar, '/');
+    }
+    
     /**
      * Log a passed step
      * @param message Step message
      */
     public static void logPass(String message) {
         try {
-            getTest().log(Status.PASS, message);
+            write(getTest(), Status.PASS, message, null);
             logger.info("PASS: " + message);
         } catch (Exception e) {
             logger.error("Failed to log pass message: " + e.getMessage());
@@ -114,7 +222,7 @@ public class ReportUtils {
      */
     public static void logFail(String message) {
         try {
-            getTest().log(Status.FAIL, message);
+            write(getTest(), Status.FAIL, message, null);
             logger.error("FAIL: " + message);
         } catch (Exception e) {
             logger.error("Failed to log fail message: " + e.getMessage());
@@ -128,11 +236,10 @@ public class ReportUtils {
      */
     public static void logFail(String message, String screenshotPath) {
         try {
-            getTest().fail(message, MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
+            write(getTest(), Status.FAIL, message, screenshotPath);
             logger.error("FAIL: " + message + " (Screenshot: " + screenshotPath + ")");
         } catch (Exception e) {
-            logFail(message);
-            logger.error("Failed to attach screenshot to report: " + e.getMessage());
+            logger.error("Failed to log fail message: " + e.getMessage());
         }
     }
     
@@ -142,7 +249,7 @@ public class ReportUtils {
      */
     public static void logSkip(String message) {
         try {
-            getTest().log(Status.SKIP, message);
+            write(getTest(), Status.SKIP, message, null);
             logger.info("SKIP: " + message);
         } catch (Exception e) {
             logger.error("Failed to log skip message: " + e.getMessage());
@@ -155,7 +262,7 @@ public class ReportUtils {
      */
     public static void logInfo(String message) {
         try {
-            getTest().log(Status.INFO, message);
+            write(getTest(), Status.INFO, message, null);
             logger.info("INFO: " + message);
         } catch (Exception e) {
             logger.error("Failed to log info message: " + e.getMessage());
@@ -168,7 +275,7 @@ public class ReportUtils {
      */
     public static void logWarning(String message) {
         try {
-            getTest().log(Status.WARNING, message);
+            write(getTest(), Status.WARNING, message, null);
             logger.warn("WARNING: " + message);
         } catch (Exception e) {
             logger.error("Failed to log warning message: " + e.getMessage());
@@ -176,12 +283,55 @@ public class ReportUtils {
     }
     
     /**
-     * Flush the report
+     * Get a one-line summary of asynchronous report writer statistics
+     * @return Writer statistics, or a note that reports are written inline
+     */
+    public static String getReportQueueStats() {
+        ReportEventPipeline events = pipeline;
+        return events != null ? events.getStats() : "Report events: written inline";
+    }
+    
+    /**
+     * Flush the report, after pending screenshots have been written and the asynchronous
+     * writer has applied all pending steps
      */
     public static synchronized void flushReport() {
         if (extentReports != null) {
+            ReportFlushEvent event = new ReportFlushEvent();
+            event.begin();
+            event.asyncWriter = pipeline != null;
+            event.pendingSteps = pipeline != null ? pipeline.getQueueDepth() : 0;
+            
+            if (ScreenshotPipeline.isCreated()) {
+                ScreenshotPipeline.getInstance().awaitPending(DRAIN_TIMEOUT_MILLIS);
+                logger.info(ScreenshotPipeline.getInstance().getStats());
+            }
+            if (pipeline != null) {
+                pipeline.drain(DRAIN_TIMEOUT_MILLIS);
+                logger.info(pipeline.getStats());
+            }
+            if (CommandTimings.isCreated()) {
+                addCommandTimings();
+            }
             extentReports.flush();
+            event.commit();
             logger.info("Extent Report flushed");
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Write the WebDriver command timing summary to JSON and add its slowest rows to the
+     * report, replacing the table added by an earlier flush
+     */
+    private static void addCommandTimings() {
+        CommandTimings timings = CommandTimings.getInstance();
+        timings.writeJson(ConfigReader.getInstance().getCommandTimingPath());
+        
+        if (commandTimingTest != null) {
+            extentReports.removeTest(commandTimingTest);
+        }
+        commandTimingTest = extentReports.createTest("WebDriver command timings",
+                "Slowest commands by total time, grouped by command, page and locator strategy");
+        commandTimingTest.info(MarkupHelper.createTable(timings.getSummaryTable(COMMAND_TIMING_ROWS)));
+    }
+}
\ No newline at end of file
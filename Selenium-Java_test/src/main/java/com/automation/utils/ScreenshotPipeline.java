@@ -0,0 +1,225 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Captures screenshots on the calling thread and encodes them to files on a worker pool.
+ * Files are named after a hash of the captured bytes, so a frame identical to one already
+ * captured is linked to the existing file instead of being encoded again. If a frame cannot be
+ * encoded, its PNG bytes are written to the linked file instead, so the report never links to a
+ * missing file; a failed write is logged with the name of the test that captured it.
+ */
+public final class ScreenshotPipeline {
+    private static final Logger logger = LogManager.getLogger(ScreenshotPipeline.class);
+    private static ScreenshotPipeline instance;
+    
+    private final String format;
+    private final float jpegQuality;
+    private final ExecutorService encoders;
+    private final Map<String, File> files = new ConcurrentHashMap<>();
+    private final Queue<Future<?>> pending = new ConcurrentLinkedQueue<>();
+    
+    private final LongAdder captures = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder capturedBytes = new LongAdder();
+    private final LongAdder writtenBytes = new LongAdder();
+    private final LongAdder captureNanos = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    
+    private ScreenshotPipeline() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.format = "png".equalsIgnoreCase(config.getScreenshotFormat()) ? "png" : "jpg";
+        this.jpegQuality = config.getScreenshotJpegQuality();
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        this.encoders = Executors.newFixedThreadPool(Math.max(1, config.getScreenshotEncoderThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-encoder-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Get singleton instance of ScreenshotPipeline
+     * @return ScreenshotPipeline instance
+     */
+    public static synchronized ScreenshotPipeline getInstance() {
+        if (instance == null) {
+            instance = new ScreenshotPipeline();
+        }
+        return instance;
+    }
+    
+    /**
+     * Check whether a pipeline has been created in this JVM
+     * @return true if the pipeline exists
+     */
+    public static synchronized boolean isCreated() {
+        return instance != null;
+    }
+    
+    /**
+     * Capture a screenshot and queue it for encoding. The returned file is written once
+     * pending screenshots have been awaited.
+     * @param driver WebDriver instance
+     * @param directory Directory to write the screenshot to
+     * @param testName Name of the test the screenshot belongs to, used when logging failures
+     * @return Screenshot file
+     */
+    public File capture(WebDriver driver, String directory, String testName) {
+        long start = System.nanoTime();
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        File file = new File(directory, hash(png) + "." + format);
+        
+        captures.increment();
+        capturedBytes.add(png.length);
+        if (files.putIfAbsent(file.getAbsolutePath(), file) != null || file.exists()) {
+            duplicates.increment();
+        } else {
+            pending.add(encoders.submit(() -> write(png, file, testName)));
+        }
+        
+        captureNanos.add(System.nanoTime() - start);
+        return file;
+    }
+    
+    /**
+     * Wait until every queued screenshot has been written
+     * @param timeoutMillis Maximum time to wait
+     * @return true if all screenshots were written within the timeout
+     */
+    public boolean awaitPending(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Future<?> task;
+        while ((task = pending.peek()) != null) {
+            try {
+                task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Screenshots not written after " + timeoutMillis + " ms, "
+                        + pending.size() + " pending");
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                // Failures are counted and logged by the encoder
+            }
+            pending.remove(task);
+        }
+        return true;
+    }
+    
+    /**
+     * Get a one-line summary of screenshot statistics
+     * @return Screenshot statistics
+     */
+    public String getStats() {
+        long count = captures.sum();
+        long written = count - duplicates.sum() - failures.sum();
+        return String.format("Screenshots: %d captured, %d duplicate, %d failed, captured/written: %d/%d KB (%s), "
+                        + "on-thread avg: %.1f ms, encode avg: %.1f ms",
+                count, duplicates.sum(), failures.sum(), capturedBytes.sum() / 1024, writtenBytes.sum() / 1024, format,
+                count == 0 ? 0.0 : captureNanos.sum() / 1e6 / count,
+                written <= 0 ? 0.0 : encodeNanos.sum() / 1e6 / written);
+    }
+    
+    private void write(byte[] png, File file, String testName) {
+        long start = System.nanoTime();
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            if ("png".equals(format)) {
+                Files.write(tempFile.toPath(), png);
+            } else {
+                try {
+                    writeJpeg(png, tempFile);
+                } catch (IOException | RuntimeException e) {
+                    // Keep the report link valid; browsers sniff the image type, not the extension
+                    logger.warn("Could not encode screenshot of " + testName + " as JPEG, writing it as PNG: "
+                            + e.getMessage());
+                    Files.write(tempFile.toPath(), png);
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            writtenBytes.add(file.length());
+            encodeNanos.add(System.nanoTime() - start);
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            files.remove(file.getAbsolutePath());
+            tempFile.delete();
+            logger.error("Failed to write screenshot of " + testName + " to " + file.getPath()
+                    + ", the report links to a missing file: " + e.getMessage());
+        }
+    }
+    
+    private void writeJpeg(byte[] png, File file) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        
+        // JPEG has no alpha channel, so flatten the screenshot onto white
+        BufferedImage image = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.drawImage(source, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+        
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam params = writer.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality(jpegQuality);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+    }
+    
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
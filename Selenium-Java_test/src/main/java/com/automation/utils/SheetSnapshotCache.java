@@ -0,0 +1,323 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Binary snapshots of parsed .xlsx workbooks. The first read of a workbook parses every sheet
+ * with {@link StreamingExcelReader} and writes the cell strings to a compact file under
+ * target/; later reads, including in later runs, decode that file instead of unzipping and
+ * parsing OOXML. A snapshot is used only while the source file has the same size and
+ * either the same mtime or the same SHA-256, so CI checkouts that only touch mtimes still hit.
+ * Date cells are stored as Date.toString() in the JVM's time zone, so snapshots are kept per
+ * time zone.
+ */
+public final class SheetSnapshotCache {
+    private static final Logger logger = LogManager.getLogger(SheetSnapshotCache.class);
+    private static final int MAGIC = 0x58534E50; // "XSNP"
+    private static final int FORMAT_VERSION = 3;
+    private static final int HASH_LENGTH = 32;
+    private static SheetSnapshotCache instance;
+    
+    private final boolean enabled;
+    private final Path snapshotDir;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong hashHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    
+    private SheetSnapshotCache() {
+        ConfigReader config = ConfigReader.getInstance();
+        this.enabled = config.isExcelSnapshotEnabled();
+        this.snapshotDir = Paths.get(config.getExcelSnapshotPath());
+    }
+    
+    /**
+     * Get singleton instance of SheetSnapshotCache
+     * @return SheetSnapshotCache instance
+     */
+    public static synchronized SheetSnapshotCache getInstance() {
+        if (instance == null) {
+            instance = new SheetSnapshotCache();
+        }
+        return instance;
+    }
+    
+    /**
+     * Check if snapshots are enabled
+     * @return true if workbooks should be read through snapshots
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Load a workbook from its snapshot, or parse it and write a new snapshot if there is no
+     * current one
+     * @param filePath Path to the .xlsx file
+     * @param valueStyle Cell-to-string rules the snapshot was built with
+     * @return Parsed workbook
+     */
+    public synchronized WorkbookSnapshot load(String filePath, StreamingExcelReader.ValueStyle valueStyle) {
+        File source = new File(filePath);
+        Path snapshotPath = snapshotPathFor(source, valueStyle);
+        long size = source.length();
+        long modified = source.lastModified();
+        byte[] hash = null;
+        WorkbookSnapshot refreshed = null;
+        
+        if (Files.isRegularFile(snapshotPath)) {
+            try {
+                // Every cell is decoded up front, so a plain read is all the snapshot needs
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+                if (buffer.getInt() == MAGIC && buffer.getInt() == FORMAT_VERSION
+                        && buffer.getInt() == valueStyle.ordinal() && buffer.getLong() == size) {
+                    long snapshotModified = buffer.getLong();
+                    byte[] snapshotHash = new byte[HASH_LENGTH];
+                    buffer.get(snapshotHash);
+                    
+                    if (snapshotModified == modified) {
+                        hits.incrementAndGet();
+                        return readBody(buffer);
+                    }
+                    hash = sha256(source);
+                    if (Arrays.equals(hash, snapshotHash)) {
+                        hashHits.incrementAndGet();
+                        refreshed = readBody(buffer);
+                    }
+                }
+            } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+                logger.warn("Ignoring unreadable Excel snapshot " + snapshotPath + ": " + e);
+            }
+        }
+        if (refreshed != null) {
+            // Same content with a new mtime, e.g. a fresh checkout; rewrite so the next run skips hashing
+            write(snapshotPath, size, modified, hash, valueStyle, refreshed);
+            return refreshed;
+        }
+        
+        misses.incrementAndGet();
+        long start = System.currentTimeMillis();
+        WorkbookSnapshot snapshot = parse(filePath, valueStyle);
+        if (hash == null) {
+            hash = sha256(source);
+        }
+        write(snapshotPath, size, modified, hash, valueStyle, snapshot);
+        logger.info("Parsed " + filePath + " and wrote snapshot in " + (System.currentTimeMillis() - start) + " ms");
+        return snapshot;
+    }
+    
+    /**
+     * Get a one-line summary of snapshot statistics
+     * @return Snapshot statistics
+     */
+    public String getStats() {
+        return String.format("Snapshot hits: %d (%d by checksum), misses: %d", hits.get() + hashHits.get(),
+                hashHits.get(), misses.get());
+    }
+    
+    /**
+     * Parse every sheet of a workbook with the streaming reader
+     * @param filePath Path to the .xlsx file
+     * @param valueStyle Cell-to-string rules to apply
+     * @return Parsed workbook
+     */
+    private WorkbookSnapshot parse(String filePath, StreamingExcelReader.ValueStyle valueStyle) {
+        Map<String, List<StreamingExcelReader.SheetRow>> sheets = new LinkedHashMap<>();
+        try (StreamingExcelReader reader = StreamingExcelReader.open(filePath, valueStyle)) {
+            for (String sheetName : reader.getSheetNames()) {
+                List<StreamingExcelReader.SheetRow> rows = new ArrayList<>();
+                try (StreamingExcelReader.RowIterator iterator = reader.rows(sheetName)) {
+                    iterator.forEachRemaining(rows::add);
+                }
+                sheets.put(sheetName, rows);
+            }
+        }
+        return new WorkbookSnapshot(sheets);
+    }
+    
+    /**
+     * Decode the string table and sheets following the header
+     * @param buffer Snapshot positioned after the header
+     * @return Parsed workbook
+     */
+    private static WorkbookSnapshot readBody(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        
+        Map<String, List<StreamingExcelReader.SheetRow>> sheets = new LinkedHashMap<>();
+        int sheetCount = buffer.getInt();
+        for (int s = 0; s < sheetCount; s++) {
+            String sheetName = strings[buffer.getInt()];
+            int rowCount = buffer.getInt();
+            List<StreamingExcelReader.SheetRow> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                int rowNum = buffer.getInt();
+                String[] cells = new String[buffer.getInt()];
+                for (int c = 0; c < cells.length; c++) {
+                    int index = buffer.getInt();
+                    cells[c] = index < 0 ? null : strings[index];
+                }
+                rows.add(new StreamingExcelReader.SheetRow(rowNum, cells));
+            }
+            sheets.put(sheetName, rows);
+        }
+        return new WorkbookSnapshot(sheets);
+    }
+    
+    /**
+     * Write a snapshot atomically. Every distinct string is stored once and cells refer to
+     * it by index, so repeated values cost four bytes and are shared again when read.
+     * @param snapshotPath Snapshot file
+     * @param size Source file size
+     * @param modified Source file mtime
+     * @param hash Source file SHA-256
+     * @param valueStyle Cell-to-string rules the workbook was parsed with
+     * @param snapshot Parsed workbook
+     */
+    private void write(Path snapshotPath, long size, long modified, byte[] hash,
+                       StreamingExcelReader.ValueStyle valueStyle, WorkbookSnapshot snapshot) {
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Map.Entry<String, List<StreamingExcelReader.SheetRow>> sheet : snapshot.sheets.entrySet()) {
+            intern(sheet.getKey(), stringIndex, strings);
+            for (StreamingExcelReader.SheetRow row : sheet.getValue()) {
+                for (int c = 0; c < row.getLastCellNum(); c++) {
+                    intern(row.getCell(c), stringIndex, strings);
+                }
+            }
+        }
+        
+        try {
+            Files.createDirectories(snapshotDir);
+            Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(valueStyle.ordinal());
+                out.writeLong(size);
+                out.writeLong(modified);
+                out.write(hash);
+                
+                out.writeInt(strings.size());
+                for (String string : strings) {
+                    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+                
+                out.writeInt(snapshot.sheets.size());
+                for (Map.Entry<String, List<StreamingExcelReader.SheetRow>> sheet : snapshot.sheets.entrySet()) {
+                    out.writeInt(stringIndex.get(sheet.getKey()));
+                    out.writeInt(sheet.getValue().size());
+                    for (StreamingExcelReader.SheetRow row : sheet.getValue()) {
+                        out.writeInt(row.getRowNum());
+                        out.writeInt(row.getLastCellNum());
+                        for (int c = 0; c < row.getLastCellNum(); c++) {
+                            String value = row.getCell(c);
+                            out.writeInt(value == null ? -1 : stringIndex.get(value));
+                        }
+                    }
+                }
+            }
+            Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Failed to write Excel snapshot " + snapshotPath + ": " + e.getMessage());
+        }
+    }
+    
+    private static void intern(String value, Map<String, Integer> stringIndex, List<String> strings) {
+        if (value != null && !stringIndex.containsKey(value)) {
+            stringIndex.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+    
+    /**
+     * Build the snapshot file name from the source file name, its location and the value style
+     * @param source Source workbook
+     * @param valueStyle Cell-to-string rules
+     * @return Snapshot path
+     */
+    private Path snapshotPathFor(File source, StreamingExcelReader.ValueStyle valueStyle) {
+        String location = Integer.toHexString((source.getAbsolutePath() + "|" + TimeZone.getDefault().getID()).hashCode());
+        String name = source.getName().replaceAll("[^A-Za-z0-9._-]", "_");
+        return snapshotDir.resolve(name + "-" + location + "-" + valueStyle.name().toLowerCase() + ".snap");
+    }
+    
+    private static byte[] sha256(File file) {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash Excel file: " + file + " (" + e.getMessage() + ")");
+        }
+    }
+    
+    /**
+     * All sheets of a workbook with their rows already converted to strings
+     */
+    public static final class WorkbookSnapshot {
+        private final Map<String, List<StreamingExcelReader.SheetRow>> sheets;
+        
+        private WorkbookSnapshot(Map<String, List<StreamingExcelReader.SheetRow>> sheets) {
+            this.sheets = sheets;
+        }
+        
+        /**
+         * Get sheet names in workbook order
+         * @return Sheet names
+         */
+        public List<String> getSheetNames() {
+            return Collections.unmodifiableList(new ArrayList<>(sheets.keySet()));
+        }
+        
+        /**
+         * Get the rows of a sheet. Sheet names are matched case-insensitively, like Workbook.getSheet.
+         * @param sheetName Sheet name
+         * @return Rows present in the sheet, or null if the sheet does not exist
+         */
+        public List<StreamingExcelReader.SheetRow> getRows(String sheetName) {
+            for (Map.Entry<String, List<StreamingExcelReader.SheetRow>> sheet : sheets.entrySet()) {
+                if (sheet.getKey().equalsIgnoreCase(sheetName)) {
+                    return Collections.unmodifiableList(sheet.getValue());
+                }
+            }
+            return null;
+        }
+    }
+}
\ No newline at end of file
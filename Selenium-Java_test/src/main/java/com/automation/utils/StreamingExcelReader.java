@@ -0,0 +1,486 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader for .xlsx workbooks built on POI's event API. Sheet XML is pulled one row
+ * at a time instead of being loaded into a workbook model, so memory stays flat regardless of
+ * sheet size; only the shared strings table is kept in memory. Cell values are converted to
+ * strings with the same rules as the DOM-based readers, selected through {@link ValueStyle}.
+ */
+public final class StreamingExcelReader implements Closeable {
+    private static final Logger logger = LogManager.getLogger(StreamingExcelReader.class);
+    
+    /**
+     * Cell-to-string rules to apply
+     */
+    public enum ValueStyle {
+        /** Same as ExcelUtils: formula text, date-formatted numbers as Date.toString() */
+        FORMULA_TEXT,
+        /** Same as framework ExcelDataProvider: cached formula results, no date detection */
+        CACHED_VALUE
+    }
+    
+    private final String filePath;
+    private final ValueStyle valueStyle;
+    private final OPCPackage pkg;
+    private final XSSFReader xssfReader;
+    private final SharedStrings sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final XMLInputFactory inputFactory = XMLHelper.newXMLInputFactory();
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    private List<String> sheetNames;
+    
+    private StreamingExcelReader(String filePath, ValueStyle valueStyle, OPCPackage pkg)
+            throws IOException, OpenXML4JException, SAXException, XMLStreamException {
+        this.filePath = filePath;
+        this.valueStyle = valueStyle;
+        this.pkg = pkg;
+        this.xssfReader = new XSSFReader(pkg);
+        this.sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+        this.styles = xssfReader.getStylesTable();
+        this.date1904 = readDate1904();
+    }
+    
+    /**
+     * Open a workbook for streaming
+     * @param filePath Path to the .xlsx file
+     * @param valueStyle Cell-to-string rules to apply
+     * @return StreamingExcelReader, to be closed by the caller
+     */
+    public static StreamingExcelReader open(String filePath, ValueStyle valueStyle) {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(filePath, PackageAccess.READ);
+            logger.debug("Opened Excel file for streaming: " + filePath);
+            return new StreamingExcelReader(filePath, valueStyle, pkg);
+        } catch (IOException | OpenXML4JException | SAXException | XMLStreamException e) {
+            if (pkg != null) {
+                pkg.revert();
+            }
+            throw new RuntimeException("Failed to open Excel file for streaming: " + filePath + " (" + e.getMessage() + ")");
+        }
+    }
+    
+    /**
+     * Check if a file can be streamed, i.e. it exists and is an OOXML (.xlsx) workbook
+     * @param filePath Path to the file
+     * @return true if the file can be opened with this reader
+     */
+    public static boolean isSupported(String filePath) {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            return false;
+        }
+        try {
+            return FileMagic.valueOf(file) == FileMagic.OOXML;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Get sheet names in workbook order
+     * @return Sheet names
+     */
+    public List<String> getSheetNames() {
+        if (sheetNames == null) {
+            List<String> names = new ArrayList<>();
+            try {
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+                while (sheets.hasNext()) {
+                    try (InputStream ignored = sheets.next()) {
+                        names.add(sheets.getSheetName());
+                    }
+                }
+            } catch (IOException | OpenXML4JException e) {
+                throw new RuntimeException("Failed to read sheet names from: " + filePath + " (" + e.getMessage() + ")");
+            }
+            sheetNames = Collections.unmodifiableList(names);
+        }
+        return sheetNames;
+    }
+    
+    /**
+     * Stream the rows of a sheet. Sheet names are matched case-insensitively, like Workbook.getSheet.
+     * @param sheetName Sheet name
+     * @return Row iterator, to be closed by the caller, or null if the sheet does not exist
+     */
+    public RowIterator rows(String sheetName) {
+        try {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            while (sheets.hasNext()) {
+                InputStream stream = sheets.next();
+                if (sheets.getSheetName().equalsIgnoreCase(sheetName)) {
+                    return new RowIterator(stream);
+                }
+                stream.close();
+            }
+            return null;
+        } catch (IOException | OpenXML4JException | XMLStreamException e) {
+            throw new RuntimeException("Failed to open sheet '" + sheetName + "' in: " + filePath + " (" + e.getMessage() + ")");
+        }
+    }
+    
+    /**
+     * Release the underlying package
+     */
+    @Override
+    public void close() {
+        // Read-only packages are released with revert(), close() would try to save them
+        pkg.revert();
+    }
+    
+    /**
+     * Read the workbook's date1904 flag so date cells convert the same way as in the DOM
+     * @return true if the workbook uses the 1904 date system
+     */
+    private boolean readDate1904() throws IOException, OpenXML4JException, XMLStreamException {
+        try (InputStream workbook = xssfReader.getWorkbookData()) {
+            XMLStreamReader xml = inputFactory.createXMLStreamReader(workbook);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    if ("workbookPr".equals(xml.getLocalName())) {
+                        String value = xml.getAttributeValue(null, "date1904");
+                        return "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                    if ("sheets".equals(xml.getLocalName())) {
+                        // workbookPr always precedes sheets
+                        return false;
+                    }
+                }
+                return false;
+            } finally {
+                xml.close();
+            }
+        }
+    }
+    
+    /**
+     * Convert a parsed cell to a string
+     * @param type Cell type attribute (t)
+     * @param styleIndex Cell style index
+     * @param formula Formula text, or null if the cell has no formula
+     * @param value Raw value (v)
+     * @param inline Inline string text (is)
+     * @return Cell value as string
+     */
+    private String format(String type, int styleIndex, String formula, String value, String inline) {
+        if (formula != null) {
+            if (valueStyle == ValueStyle.CACHED_VALUE) {
+                return formatCachedFormulaValue(type, value);
+            }
+            if (!formula.isEmpty()) {
+                return formula;
+            }
+            // Shared formula followers carry no text of their own, fall back to the cached value
+        }
+        
+        if (type == null) {
+            type = "n";
+        }
+        switch (type) {
+            case "s":
+                return value == null ? "" : sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+            case "inlineStr":
+                return inline != null ? inline : (value == null ? "" : value);
+            case "str":
+            case "d":
+                return value == null ? "" : value;
+            case "b":
+                return String.valueOf("1".equals(value));
+            case "n":
+                return value == null || value.isEmpty() ? "" : formatNumber(Double.parseDouble(value), styleIndex);
+            default:
+                return "";
+        }
+    }
+    
+    /**
+     * Format a formula's cached result the way ExcelDataProvider does: string results as is,
+     * numeric results through String.valueOf, anything else as an empty string
+     * @param type Cached result type attribute (t)
+     * @param value Raw cached value
+     * @return Cached value as string
+     */
+    private String formatCachedFormulaValue(String type, String value) {
+        if (value == null) {
+            return "";
+        }
+        if ("str".equals(type)) {
+            return value;
+        }
+        if (type == null || "n".equals(type)) {
+            return String.valueOf(Double.parseDouble(value));
+        }
+        return "";
+    }
+    
+    /**
+     * Format a numeric cell
+     * @param number Cell value
+     * @param styleIndex Cell style index
+     * @return Number as string
+     */
+    private String formatNumber(double number, int styleIndex) {
+        boolean integral = number == Math.floor(number);
+        if (valueStyle == ValueStyle.CACHED_VALUE) {
+            return integral ? String.format("%.0f", number) : String.valueOf(number);
+        }
+        
+        if (DateUtil.isValidExcelDate(number) && isDateStyle(styleIndex)) {
+            return DateUtil.getJavaDate(number, date1904).toString();
+        }
+        return integral ? String.valueOf((long) number) : String.valueOf(number);
+    }
+    
+    /**
+     * Check if a cell style has a date format, as DateUtil.isCellDateFormatted does
+     * @param styleIndex Cell style index
+     * @return true if numbers in this style are dates
+     */
+    private boolean isDateStyle(int styleIndex) {
+        if (styles == null) {
+            return false;
+        }
+        return dateStyles.computeIfAbsent(styleIndex, index -> {
+            XSSFCellStyle style = styles.getStyleAt(index);
+            return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        });
+    }
+    
+    /**
+     * Convert a cell reference such as "AB12" to a zero-based column index
+     * @param ref Cell reference, may be null
+     * @param fallback Column index to use when the reference is missing
+     * @return Column index
+     */
+    private static int columnIndex(String ref, int fallback) {
+        if (ref == null) {
+            return fallback;
+        }
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+    
+    /**
+     * Pull-based iterator over the rows of one sheet. Only rows present in the sheet XML are
+     * returned, in the same way as Sheet.getRow returns null for missing rows.
+     */
+    public final class RowIterator implements Iterator<SheetRow>, Closeable {
+        private final InputStream stream;
+        private final XMLStreamReader xml;
+        private SheetRow nextRow;
+        private int lastRowNum = -1;
+        private boolean finished;
+        
+        private RowIterator(InputStream stream) throws XMLStreamException {
+            this.stream = stream;
+            this.xml = inputFactory.createXMLStreamReader(stream);
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (nextRow == null && !finished) {
+                nextRow = readRow();
+            }
+            return nextRow != null;
+        }
+        
+        @Override
+        public SheetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SheetRow row = nextRow;
+            nextRow = null;
+            return row;
+        }
+        
+        @Override
+        public void close() {
+            finished = true;
+            try {
+                xml.close();
+                stream.close();
+            } catch (XMLStreamException | IOException e) {
+                logger.debug("Failed to close sheet stream: " + e.getMessage());
+            }
+        }
+        
+        private SheetRow readRow() {
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                        return parseRow();
+                    }
+                }
+                close();
+                return null;
+            } catch (XMLStreamException e) {
+                close();
+                throw new RuntimeException("Failed to read sheet XML from: " + filePath + " (" + e.getMessage() + ")");
+            }
+        }
+        
+        private SheetRow parseRow() throws XMLStreamException {
+            String rowRef = xml.getAttributeValue(null, "r");
+            int rowNum = rowRef != null ? Integer.parseInt(rowRef) - 1 : lastRowNum + 1;
+            lastRowNum = rowNum;
+            
+            String[] cells = new String[16];
+            int lastColumn = -1;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                    int column = columnIndex(xml.getAttributeValue(null, "r"), lastColumn + 1);
+                    String type = xml.getAttributeValue(null, "t");
+                    String style = xml.getAttributeValue(null, "s");
+                    // Cells without a style attribute use the default style, as in XSSFCell
+                    String value = parseCell(type, style == null ? 0 : Integer.parseInt(style));
+                    if (column >= cells.length) {
+                        cells = Arrays.copyOf(cells, Math.max(cells.length * 2, column + 1));
+                    }
+                    cells[column] = value;
+                    lastColumn = Math.max(lastColumn, column);
+                } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return new SheetRow(rowNum, Arrays.copyOf(cells, lastColumn + 1));
+        }
+        
+        private String parseCell(String type, int styleIndex) throws XMLStreamException {
+            String formula = null;
+            String value = null;
+            String inline = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if ("f".equals(name)) {
+                        formula = xml.getElementText();
+                    } else if ("v".equals(name)) {
+                        value = xml.getElementText();
+                    } else if ("is".equals(name)) {
+                        inline = parseInlineString();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return format(type, styleIndex, formula, value, inline);
+        }
+        
+        private String parseInlineString() throws XMLStreamException {
+            StringBuilder text = new StringBuilder();
+            boolean phonetic = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("rPh".equals(xml.getLocalName())) {
+                        phonetic = true;
+                    } else if ("t".equals(xml.getLocalName()) && !phonetic) {
+                        text.append(xml.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("rPh".equals(xml.getLocalName())) {
+                        phonetic = false;
+                    } else if ("is".equals(xml.getLocalName())) {
+                        break;
+                    }
+                }
+            }
+            return text.toString();
+        }
+    }
+    
+    /**
+     * One row of a sheet with its cell values already converted to strings
+     */
+    public static final class SheetRow {
+        private final int rowNum;
+        private final String[] cells;
+        
+        SheetRow(int rowNum, String[] cells) {
+            this.rowNum = rowNum;
+            this.cells = cells;
+        }
+        
+        /**
+         * Get zero-based row index
+         * @return Row index
+         */
+        public int getRowNum() {
+            return rowNum;
+        }
+        
+        /**
+         * Get index of the last cell plus one, as Row.getLastCellNum
+         * @return Number of cell slots in this row
+         */
+        public int getLastCellNum() {
+            return cells.length;
+        }
+        
+        /**
+         * Get cell value
+         * @param index Zero-based column index
+         * @return Cell value, or null if the row has no such cell
+         */
+        public String getCell(int index) {
+            return index < cells.length ? cells[index] : null;
+        }
+        
+        /**
+         * Get cell value, treating missing cells as empty
+         * @param index Zero-based column index
+         * @return Cell value, or empty string if the row has no such cell
+         */
+        public String getCellValue(int index) {
+            String value = getCell(index);
+            return value == null ? "" : value;
+        }
+    }
+}
\ No newline at end of file
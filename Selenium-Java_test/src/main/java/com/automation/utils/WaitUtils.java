@@ -1,24 +1,42 @@
 package com.automation.utils;
 
+import com.automation.config.ConfigReader;
+import com.automation.core.DeadlineWait;
 import com.automation.core.DriverManager;
+import com.automation.core.TestDeadline;
+import com.automation.jfr.WaitEvent;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.function.Supplier;
 
 /**
- * Utility class for waits
+ * Utility class for waits. Visibility, clickability and page-load waits are delegated to
+ * {@link EventWaitUtils} when wait.engine is set to "event".
  */
 public class WaitUtils {
-    private static final int DEFAULT_TIMEOUT = 10;
+    static final int DEFAULT_TIMEOUT = 10;
     
     private WaitUtils() {
         // Private constructor to prevent instantiation
     }
     
+    /**
+     * Check if the event-driven wait engine is selected
+     * @return true if waits should use EventWaitUtils
+     */
+    private static boolean isEventDriven() {
+        return "event".equalsIgnoreCase(ConfigReader.getInstance().getWaitEngine());
+    }
+    
     /**
      * Get WebDriverWait instance with default timeout
      * @return WebDriverWait instance
@@ -28,12 +46,12 @@ public class WaitUtils {
     }
     
     /**
-     * Get WebDriverWait instance with custom timeout
+     * Get WebDriverWait instance with custom timeout, cut to the test's remaining time budget
      * @param timeoutInSeconds Timeout in seconds
      * @return WebDriverWait instance
      */
     public static WebDriverWait getWait(int timeoutInSeconds) {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+        return new DeadlineWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
     }
     
     /**
@@ -42,7 +60,9 @@ public class WaitUtils {
      * @return WebElement that is now visible
      */
     public static WebElement waitForElementToBeVisible(WebElement element) {
-        return getWait().until(ExpectedConditions.visibilityOf(element));
+        return record("visibilityOf", DEFAULT_TIMEOUT, () -> isEventDriven()
+                ? EventWaitUtils.waitForElementToBeVisible(element)
+                : getWait().until(ExpectedConditions.visibilityOf(element)));
     }
     
     /**
@@ -52,7 +72,9 @@ public class WaitUtils {
      * @return WebElement that is now visible
      */
     public static WebElement waitForElementToBeVisible(WebElement element, int timeoutInSeconds) {
-        return getWait(timeoutInSeconds).until(ExpectedConditions.visibilityOf(element));
+        return record("visibilityOf", timeoutInSeconds, () -> isEventDriven()
+                ? EventWaitUtils.waitForElementToBeVisible(element, timeoutInSeconds)
+                : getWait(timeoutInSeconds).until(ExpectedConditions.visibilityOf(element)));
     }
     
     /**
@@ -61,7 +83,9 @@ public class WaitUtils {
      * @return WebElement that is now clickable
      */
     public static WebElement waitForElementToBeClickable(WebElement element) {
-        return getWait().until(ExpectedConditions.elementToBeClickable(element));
+        return record("elementToBeClickable", DEFAULT_TIMEOUT, () -> isEventDriven()
+                ? EventWaitUtils.waitForElementToBeClickable(element)
+                : getWait().until(ExpectedConditions.elementToBeClickable(element)));
     }
     
     /**
@@ -71,7 +95,9 @@ public class WaitUtils {
      * @return WebElement that is now clickable
      */
     public static WebElement waitForElementToBeClickable(WebElement element, int timeoutInSeconds) {
-        return getWait(timeoutInSeconds).until(ExpectedConditions.elementToBeClickable(element));
+        return record("elementToBeClickable", timeoutInSeconds, () -> isEventDriven()
+                ? EventWaitUtils.waitForElementToBeClickable(element, timeoutInSeconds)
+                : getWait(timeoutInSeconds).until(ExpectedConditions.elementToBeClickable(element)));
     }
     
     /**
@@ -80,7 +106,8 @@ public class WaitUtils {
      * @return WebElement that is now present
      */
     public static WebElement waitForElementToBePresent(By locator) {
-        return getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
+        return record("presenceOfElementLocated", DEFAULT_TIMEOUT,
+                () -> getWait().until(ExpectedConditions.presenceOfElementLocated(locator)));
     }
     
     /**
@@ -90,25 +117,87 @@ public class WaitUtils {
      * @return WebElement that is now present
      */
     public static WebElement waitForElementToBePresent(By locator, int timeoutInSeconds) {
-        return getWait(timeoutInSeconds).until(ExpectedConditions.presenceOfElementLocated(locator));
+        return record("presenceOfElementLocated", timeoutInSeconds,
+                () -> getWait(timeoutInSeconds).until(ExpectedConditions.presenceOfElementLocated(locator)));
+    }
+    
+    /**
+     * Find an element, polling until it is present or the timeout runs out. Use instead of
+     * findElement so the lookup waits the same with or without implicit waits.
+     * @param context Driver or parent element to search from
+     * @param locator By locator
+     * @return WebElement found
+     */
+    public static WebElement findElement(SearchContext context, By locator) {
+        return findElement(context, locator, DEFAULT_TIMEOUT);
+    }
+    
+    /**
+     * Find an element, polling until it is present or the timeout runs out
+     * @param context Driver or parent element to search from
+     * @param locator By locator
+     * @param timeoutInSeconds Timeout in seconds, 0 to look once
+     * @return WebElement found
+     */
+    public static WebElement findElement(SearchContext context, By locator, int timeoutInSeconds) {
+        return record("presenceOfElementLocated", timeoutInSeconds, () -> new FluentWait<>(context)
+                .withTimeout(TestDeadline.timeout(Duration.ofSeconds(timeoutInSeconds)))
+                .pollingEvery(Duration.ofMillis(100))
+                .ignoring(NoSuchElementException.class)
+                .until(searchContext -> searchContext.findElement(locator)));
     }
     
     /**
      * Wait for page to load completely
      */
     public static void waitForPageToLoad() {
-        WebDriver driver = DriverManager.getDriver();
-        getWait().until(webDriver -> ((org.openqa.selenium.JavascriptExecutor) driver)
-                .executeScript("return document.readyState").equals("complete"));
+        record("documentReadyState", DEFAULT_TIMEOUT, () -> {
+            if (isEventDriven()) {
+                EventWaitUtils.waitForPageToLoad();
+                return null;
+            }
+            WebDriver driver = DriverManager.getDriver();
+            return getWait().until(webDriver -> ((org.openqa.selenium.JavascriptExecutor) driver)
+                    .executeScript("return document.readyState").equals("complete"));
+        });
     }
     
     /**
-     * Wait for AJAX calls to complete
+     * Wait for AJAX calls to complete. Tracks in-flight fetch/XHR requests instead of
+     * jQuery.active, which is not defined on pages without jQuery.
      */
     public static void waitForAjaxToComplete() {
-        WebDriver driver = DriverManager.getDriver();
-        getWait().until(webDriver -> ((org.openqa.selenium.JavascriptExecutor) driver)
-                .executeScript("return jQuery.active == 0"));
+        NetworkWaitUtils.waitForNetworkIdle();
+    }
+    
+    /**
+     * Run a wait, charge it to the test's time budget and record it as a JFR event
+     * @param condition Name of the condition waited for
+     * @param timeoutInSeconds Timeout in seconds
+     * @param wait Wait to run
+     * @return Result of the wait
+     */
+    private static <T> T record(String condition, int timeoutInSeconds, Supplier<T> wait) {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        try {
+            return TestDeadline.track(condition, wait);
+        } catch (TimeoutException e) {
+            event.timedOut = true;
+            throw e;
+        } catch (AssertionError e) {
+            // TestDeadline ended the wait because the test's time budget ran out
+            event.timedOut = true;
+            event.budgetExhausted = true;
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.condition = condition;
+                event.engine = isEventDriven() ? "event" : "polling";
+                event.timeoutSeconds = timeoutInSeconds;
+                event.commit();
+            }
+        }
     }
     
     /**
@@ -2,29 +2,62 @@ package com.automation.listeners;
 
 import com.automation.config.ConfigReader;
 import com.automation.core.DriverManager;
+import com.automation.core.TestDeadline;
+import com.automation.fixtures.FixtureServer;
+import com.automation.jfr.FlightRecording;
+import com.automation.utils.LazyDataIterator;
 import com.automation.utils.ReportUtils;
-import org.apache.commons.io.FileUtils;
+import com.automation.utils.ScreenshotPipeline;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
 import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 
 /**
- * TestNG listener for test execution events
+ * TestNG listener for suite and test execution events. Each test method runs under its own
+ * time budget, see {@link TestDeadline}.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ISuiteListener, ITestListener, IInvokedMethodListener {
     private static final Logger logger = LogManager.getLogger(TestListener.class);
     private static boolean reportInitialized = false;
     
+    @Override
+    public void onStart(ISuite suite) {
+        FlightRecording.start(suite.getName());
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        FlightRecording.stop();
+        FixtureServer.stopAll();
+        LazyDataIterator.closeAbandoned();
+    }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            TestDeadline.start(testResult.getMethod().getMethodName());
+        }
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            String breakdown = TestDeadline.end();
+            if (breakdown != null) {
+                logger.info("Time budget of " + testResult.getName() + ": " + breakdown);
+            }
+        }
+    }
+    
     @Override
     public void onStart(ITestContext context) {
         try {
@@ -95,6 +128,9 @@ public class TestListener implements ITestListener {
             }
         } catch (Exception e) {
             logger.error("Error in onTestFailure: " + e.getMessage(), e);
+        } finally {
+            // The session may be wedged or on an unknown page, never lease it again
+            DriverManager.poisonDriver();
         }
     }
     
@@ -112,32 +148,18 @@ public class TestListener implements ITestListener {
     }
     
     /**
-     * Capture screenshot
-     * @param testName Test name
+     * Capture screenshot, leaving encoding and writing to the screenshot pipeline
+     * @param testName Name of the failed test
      * @return Path to screenshot
      */
     private String captureScreenshot(String testName) {
         try {
             WebDriver driver = DriverManager.getDriver();
             if (driver != null) {
-                String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-                String screenshotName = testName + "_" + timestamp + ".png";
-                String screenshotDir = ConfigReader.getInstance().getScreenshotPath();
-                
-                File directory = new File(screenshotDir);
-                if (!directory.exists()) {
-                    directory.mkdirs();
-                }
-                
-                String screenshotPath = screenshotDir + screenshotName;
-                File screenshotFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-                FileUtils.copyFile(screenshotFile, new File(screenshotPath));
-                
-                logger.info("Screenshot captured: " + screenshotPath);
-                return screenshotPath;
+                File screenshot = ScreenshotPipeline.getInstance().capture(driver, ConfigReader.getInstance().getScreenshotPath(), testName);
+                logger.info("Screenshot captured: " + screenshot.getPath());
+                return screenshot.getPath();
             }
-        } catch (IOException e) {
-            logger.error("Failed to capture screenshot: " + e.getMessage());
         } catch (Exception e) {
             logger.error("Unexpected error capturing screenshot: " + e.getMessage());
         }
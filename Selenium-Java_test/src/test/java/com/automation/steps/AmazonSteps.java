@@ -2,6 +2,7 @@ package com.automation.steps;
 
 import com.automation.config.ConfigReader;
 import com.automation.core.DriverManager;
+import com.automation.fixtures.FixtureServer;
 import com.automation.pages.AmazonCartPage;
 import com.automation.pages.AmazonHomePage;
 import com.automation.pages.AmazonProductPage;
@@ -45,6 +46,7 @@ public class AmazonSteps {
     @After
     public void tearDown() {
         DriverManager.quitDriver();
+        ReportUtils.endTest();
     }
     
     /**
@@ -52,7 +54,7 @@ public class AmazonSteps {
      */
     @Given("I am on the Amazon home page")
     public void iAmOnTheAmazonHomePage() {
-        driver.get(ConfigReader.getInstance().getBaseUrl());
+        driver.get(FixtureServer.localUrl(ConfigReader.getInstance().getBaseUrl()));
         homePage = new AmazonHomePage();
         Assert.assertTrue(homePage.isHomePageLoaded(), "Home page is not loaded");
         ReportUtils.logPass("Home page loaded successfully");
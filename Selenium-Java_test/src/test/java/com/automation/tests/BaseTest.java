@@ -2,6 +2,11 @@ package com.automation.tests;
 
 import com.automation.config.ConfigReader;
 import com.automation.core.DriverManager;
+import com.automation.core.PageWeight;
+import com.automation.core.WaitAudit;
+import com.automation.fixtures.FixtureServer;
+import com.automation.locators.LocatorCache;
+import com.automation.utils.NetworkWaitUtils;
 import com.automation.utils.ReportUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,8 +35,8 @@ public class BaseTest {
             logger.info("Setting up test with browser: " + browser);
             driver = DriverManager.initializeDriver(browser, configReader.isHeadless());
             
-            // Set implicit wait using Duration
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            // Set implicit wait using Duration, 0 in explicit-wait mode
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(DriverManager.getImplicitWaitSeconds()));
             
             // Maximize window
             driver.manage().window().maximize();
@@ -47,7 +52,7 @@ public class BaseTest {
     @BeforeMethod(alwaysRun = true)
     public void navigateToBaseUrl() {
         try {
-            String baseUrl = configReader.getBaseUrl();
+            String baseUrl = FixtureServer.localUrl(configReader.getBaseUrl());
             logger.info("Navigating to base URL: " + baseUrl);
             driver.get(baseUrl);
             
@@ -73,16 +78,24 @@ public class BaseTest {
     }
     
     /**
-     * Log test end
+     * Log test end and end the thread's report test
      * @param method Test method name
      */
     @AfterMethod(alwaysRun = true)
     public void logTestEnd(java.lang.reflect.Method method) {
         try {
             logger.info("Finished test: " + method.getName());
+            if (PageWeight.isCreated()) {
+                String pageWeight = PageWeight.getInstance().endTest(driver);
+                if (pageWeight != null) {
+                    ReportUtils.logInfo(pageWeight);
+                }
+            }
             ReportUtils.logInfo("Finished test: " + method.getName());
         } catch (Exception e) {
             logger.error("Error logging test end: " + e.getMessage(), e);
+        } finally {
+            ReportUtils.endTest();
         }
     }
     
@@ -99,6 +112,31 @@ public class BaseTest {
         }
     }
     
+    /**
+     * Shut down the driver pool and log locator cache and wait statistics after the suite
+     */
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        try {
+            logger.info("Locator cache: " + LocatorCache.getInstance().getStats());
+            logger.info("Network idle waits:" + System.lineSeparator() + NetworkWaitUtils.getWaitTimeSummary());
+            if (WaitAudit.isCreated()) {
+                logger.info(WaitAudit.getInstance().getStats());
+                for (String site : WaitAudit.getInstance().getUnguardedSites()) {
+                    logger.warn("Lookup without explicit wait, may rely on implicit waiting: " + site);
+                }
+            }
+            if (PageWeight.isCreated()) {
+                logger.info(PageWeight.getInstance().getStats());
+                PageWeight.getInstance().save();
+            }
+        } catch (Exception e) {
+            logger.error("Error logging suite statistics: " + e.getMessage(), e);
+        } finally {
+            DriverManager.shutdownPool();
+        }
+    }
+    
     /**
      * Wait for page to load completely using a simple polling approach
      * @param timeoutInSeconds Timeout in seconds
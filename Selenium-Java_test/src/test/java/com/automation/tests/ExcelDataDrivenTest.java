@@ -10,7 +10,7 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -20,18 +20,11 @@ public class ExcelDataDrivenTest extends BaseTest {
     
     /**
      * Data provider for Amazon search test using Excel
-     * @return Object[][] with search data
+     * @return Iterator of search data rows, read on demand
      */
     @DataProvider(name = "excelSearchData")
-    public Object[][] getExcelSearchData() {
-        List<Map<String, String>> excelData = ExcelUtils.getExcelDataAsListOfMaps("TestData.xlsx", "AmazonSearch");
-        Object[][] data = new Object[excelData.size()][1];
-        
-        for (int i = 0; i < excelData.size(); i++) {
-            data[i][0] = excelData.get(i);
-        }
-        
-        return data;
+    public Iterator<Object[]> getExcelSearchData() {
+        return ExcelUtils.getExcelDataAsMapIterator("TestData.xlsx", "AmazonSearch");
     }
     
     /**
@@ -10,6 +10,7 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -19,20 +20,20 @@ public class JsonDataDrivenTest extends BaseTest {
     
     /**
      * Data provider for Amazon search test using JSON
-     * @return Object[][] with search data
+     * @return Iterator of search data rows, read on demand
      */
     @DataProvider(name = "jsonSearchData")
-    public Object[][] getJsonSearchData() {
-        return JsonUtils.getJsonDataAs2DArray("amazon-test-data.json", "searchTests");
+    public Iterator<Object[]> getJsonSearchData() {
+        return JsonUtils.getJsonDataAsIterator("amazon-test-data.json", "searchTests");
     }
     
     /**
      * Data provider for Amazon product test using JSON
-     * @return Object[][] with product data
+     * @return Iterator of product data rows, read on demand
      */
     @DataProvider(name = "jsonProductData")
-    public Object[][] getJsonProductData() {
-        return JsonUtils.getJsonDataAs2DArray("amazon-test-data.json", "productTests");
+    public Iterator<Object[]> getJsonProductData() {
+        return JsonUtils.getJsonDataAsIterator("amazon-test-data.json", "productTests");
     }
     
     /**
@@ -30,6 +30,22 @@ public class LoginTest extends BaseTest {
                 
         // Verify successful login
         loginModule.verifySuccessfulLogin();
+        
+        // Let later tests restore this session instead of logging in again
+        loginModule.saveSession(username);
+    }
+    
+    /**
+     * Test that a new driver logs in through the session saved by the valid login, or through
+     * the login page when session reuse is off
+     */
+    @Test(description = "Test login of the valid user with the cached session", dependsOnMethods = "testValidLogin")
+    public void testLoginWithCachedSession() {
+        LoginModule loginModule = new LoginModule(driver);
+        loginModule.loginAsValidUser();
+        
+        // Verify successful login
+        loginModule.verifySuccessfulLogin();
     }
     
     /**
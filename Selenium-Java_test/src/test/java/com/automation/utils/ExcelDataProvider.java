@@ -2,6 +2,8 @@ package com.automation.utils;
 
 import org.testng.annotations.DataProvider;
 
+import java.util.Iterator;
+
 /**
  * Data provider class for Excel data
  */
@@ -9,19 +11,19 @@ public class ExcelDataProvider {
     
     /**
      * Data provider for Amazon search test
-     * @return Object[][] with search data
+     * @return Iterator of search data rows, read on demand
      */
     @DataProvider(name = "amazonSearchData")
-    public static Object[][] getAmazonSearchData() {
-        return ExcelUtils.getExcelDataAs2DArray("TestData.xlsx", "AmazonSearch");
+    public static Iterator<Object[]> getAmazonSearchData() {
+        return ExcelUtils.getExcelDataAsIterator("TestData.xlsx", "AmazonSearch");
     }
     
     /**
      * Data provider for Amazon product test
-     * @return Object[][] with product data
+     * @return Iterator of product data rows, read on demand
      */
     @DataProvider(name = "amazonProductData")
-    public static Object[][] getAmazonProductData() {
-        return ExcelUtils.getExcelDataAs2DArray("TestData.xlsx", "AmazonProduct");
+    public static Iterator<Object[]> getAmazonProductData() {
+        return ExcelUtils.getExcelDataAsIterator("TestData.xlsx", "AmazonProduct");
     }
 } 
\ No newline at end of file